@@ -0,0 +1,34 @@
+package ru.practicum.shareit.core.threads;
+
+import org.apache.coyote.ProtocolHandler;
+import org.apache.coyote.http11.Http11NioProtocol;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@EnabledIf("virtualThreadsAvailable")
+class VirtualThreadsConfigTest {
+    @Test
+    @SuppressWarnings("unchecked")
+    void customizer_whenApplied_thenTomcatRunsTasksOnVirtualThreads() throws Exception {
+        VirtualThreadsConfig config = new VirtualThreadsConfig();
+        ProtocolHandler protocolHandler = new Http11NioProtocol();
+
+        ((TomcatProtocolHandlerCustomizer<ProtocolHandler>) config.virtualThreadsProtocolHandlerCustomizer())
+            .customize(protocolHandler);
+        CompletableFuture<Thread> worker = new CompletableFuture<>();
+        protocolHandler.getExecutor().execute(() -> worker.complete(Thread.currentThread()));
+
+        assertEquals(true, Thread.class.getMethod("isVirtual").invoke(worker.get(5, TimeUnit.SECONDS)));
+        config.shutdown();
+    }
+
+    static boolean virtualThreadsAvailable() {
+        return Runtime.version().feature() >= 21;
+    }
+}
@@ -1,15 +1,15 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.beans.factory.annotation.*;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.*;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.core.QueryParametersInterface;
+import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -17,16 +17,22 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-            builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public BookingClient(ServerTransport server) {
+        super(server, API_PREFIX);
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingStatus state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getBookings(long userId, BookingStatus state, Integer from, String cursor,
+                                                    Integer size) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                QueryParametersInterface.STATE, state.name(),
+                QueryParametersInterface.CURSOR, cursor,
+                QueryParametersInterface.SIZE, size
+            );
+
+            return get("?state={state}&cursor={cursor}&size={size}", userId, parameters);
+        }
+
         Map<String, Object> parameters = Map.of(
             QueryParametersInterface.STATE, state.name(),
             QueryParametersInterface.FROM, from,
@@ -36,7 +42,18 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingsForOwner(long userId, BookingStatus state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> getBookingsForOwner(long userId, BookingStatus state, Integer from,
+                                                            String cursor, Integer size) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                QueryParametersInterface.STATE, state.name(),
+                QueryParametersInterface.CURSOR, cursor,
+                QueryParametersInterface.SIZE, size
+            );
+
+            return get("/owner?state={state}&cursor={cursor}&size={size}", userId, parameters);
+        }
+
         Map<String, Object> parameters = Map.of(
             QueryParametersInterface.STATE, state.name(),
             QueryParametersInterface.FROM, from,
@@ -46,15 +63,19 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> bookItem(long userId, ShortBookingRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> bookItem(long userId, ShortBookingRequestDto requestDto) {
         return post("", userId, requestDto);
     }
 
-    public ResponseEntity<Object> approveBooking(long userId, long bookingId, boolean approved) {
+    public Mono<ResponseEntity<Object>> bookItems(long userId, List<ShortBookingRequestDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> approveBooking(long userId, long bookingId, boolean approved) {
         return patch("/" + bookingId + "?approved=" + approved, userId);
     }
 
-    public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 }
\ No newline at end of file
@@ -7,9 +7,11 @@ import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.*;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 import javax.validation.constraints.*;
+import java.util.List;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -20,36 +22,45 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @GetMapping
-    public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<Object>> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
         @RequestParam(name = "state", defaultValue = "all") String stateParam,
         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+        @RequestParam(required = false) String cursor,
         @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
         BookingStatus state = BookingStatus.from(stateParam)
             .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
         log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, state, from, size);
+        return bookingClient.getBookings(userId, state, from, cursor, size);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsForOwner(@RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<Object>> getBookingsForOwner(@RequestHeader("X-Sharer-User-Id") long userId,
         @RequestParam(name = "state", defaultValue = "all") String stateParam,
         @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+        @RequestParam(required = false) String cursor,
         @Positive @RequestParam(defaultValue = "10") int size) {
         BookingStatus state = BookingStatus.from(stateParam)
             .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
         log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookingsForOwner(userId, state, from, size);
+        return bookingClient.getBookingsForOwner(userId, state, from, cursor, size);
     }
 
     @PostMapping
-    public ResponseEntity<Object> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<Object>> bookItem(@RequestHeader("X-Sharer-User-Id") long userId,
         @RequestBody @Valid ShortBookingRequestDto requestDto) {
         log.info("Creating booking {}, userId={}", requestDto, userId);
         return bookingClient.bookItem(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> bookItems(@RequestHeader("X-Sharer-User-Id") long userId,
+        @RequestBody @NotEmpty @Size(max = 100) List<@Valid ShortBookingRequestDto> requestDtos) {
+        log.info("Creating {} bookings, userId={}", requestDtos.size(), userId);
+        return bookingClient.bookItems(userId, requestDtos);
+    }
+
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approveBooking(
+    public Mono<ResponseEntity<Object>> approveBooking(
         @RequestHeader("X-Sharer-User-Id") Long userId,
         @PathVariable Long bookingId,
         @RequestParam Boolean approved) {
@@ -57,7 +68,7 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
         @PathVariable Long bookingId) {
         log.info("Get booking {}, userId={}", bookingId, userId);
         return bookingClient.getBooking(userId, bookingId);
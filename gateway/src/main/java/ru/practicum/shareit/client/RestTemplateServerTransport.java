@@ -0,0 +1,53 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@Component
+@Profile("!reactive")
+public class RestTemplateServerTransport implements ServerTransport {
+    private final RestTemplate rest;
+
+    @Autowired
+    public RestTemplateServerTransport(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                                       ClientHttpRequestFactory shareItServerRequestFactory) {
+        this(builder
+            .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
+            .requestFactory(() -> shareItServerRequestFactory)
+            .build());
+    }
+
+    public RestTemplateServerTransport(RestTemplate rest) {
+        this.rest = rest;
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, Map<String, ?> parameters,
+                                                 HttpHeaders headers, @Nullable Object body) {
+        // The call blocks the subscribing thread, i.e. the servlet request thread, exactly as before.
+        return Mono.fromCallable(() -> {
+            try {
+                return rest.exchange(path, method, new HttpEntity<>(body, headers), byte[].class, parameters);
+            } catch (HttpStatusCodeException e) {
+                return ResponseEntity.status(e.getRawStatusCode())
+                    .headers(e.getResponseHeaders())
+                    .body(e.getResponseBodyAsByteArray());
+            }
+        });
+    }
+}
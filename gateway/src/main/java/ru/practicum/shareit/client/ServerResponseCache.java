@@ -0,0 +1,90 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class ServerResponseCache {
+    public static final String METRIC_NAME = "shareit.gateway.cache.requests";
+
+    private final Cache<String, CachedResponse> responses;
+    private final MeterRegistry meterRegistry;
+
+    public ServerResponseCache(@Value("${shareit-server.cache.maximum-size:10000}") long maximumSize,
+                               @Value("${shareit-server.cache.expire-after-access:10m}") Duration expireAfterAccess,
+                               MeterRegistry meterRegistry) {
+        this.responses = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(expireAfterAccess)
+            .build();
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("shareit.gateway.cache.size", responses, Cache::estimatedSize)
+            .register(meterRegistry);
+    }
+
+    public static String key(@Nullable Long userId, String uri) {
+        return (userId != null ? userId : "") + " " + uri;
+    }
+
+    @Nullable
+    public CachedResponse get(String key) {
+        return responses.getIfPresent(key);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    @Nullable
+    public CachedResponse revalidated(String key, @Nullable CachedResponse cached, Timer.Sample sample,
+                                      int status, @Nullable HttpHeaders headers, @Nullable byte[] body) {
+        if (status == HttpStatus.NOT_MODIFIED.value() && cached != null) {
+            record(sample, "hit");
+            return cached;
+        }
+
+        record(sample, cached != null ? "stale" : "miss");
+        String etag = headers != null ? headers.getETag() : null;
+        if (status == HttpStatus.OK.value() && etag != null && body != null && body.length > 0) {
+            HttpHeaders forwarded = ServerResponses.forwardedHeaders(headers);
+            forwarded.remove(HttpHeaders.DATE);
+            CachedResponse response = new CachedResponse(etag, forwarded, body);
+            responses.put(key, response);
+            return response;
+        }
+
+        responses.invalidate(key);
+        return null;
+    }
+
+    private void record(Timer.Sample sample, String result) {
+        sample.stop(Timer.builder(METRIC_NAME)
+            .tag("result", result)
+            .register(meterRegistry));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedResponse {
+        private final String etag;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        public ResponseEntity<Object> toResponseEntity() {
+            return ServerResponses.toGatewayResponse(HttpStatus.OK.value(), headers, body);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+@UtilityClass
+public class ServerResponses {
+    private static final Set<String> NOT_FORWARDED = caseInsensitive(Set.of(
+        HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.PROXY_AUTHORIZATION,
+        HttpHeaders.TE, HttpHeaders.TRAILER, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.UPGRADE,
+        HttpHeaders.CONTENT_LENGTH));
+
+    public static ResponseEntity<Object> toGatewayResponse(int status, @Nullable HttpHeaders headers,
+                                                           @Nullable byte[] body) {
+        HttpHeaders forwarded = forwardedHeaders(headers);
+        if (body == null || body.length == 0) {
+            return ResponseEntity.status(status).headers(forwarded).build();
+        }
+
+        if (forwarded.getContentType() == null) {
+            forwarded.setContentType(MediaType.APPLICATION_JSON);
+        }
+        return ResponseEntity.status(status).headers(forwarded).body(body);
+    }
+
+    public static HttpHeaders forwardedHeaders(@Nullable HttpHeaders headers) {
+        HttpHeaders forwarded = new HttpHeaders();
+        if (headers == null) {
+            return forwarded;
+        }
+
+        Set<String> connectionOptions = caseInsensitive(headers.getConnection());
+        headers.forEach((name, values) -> {
+            if (!NOT_FORWARDED.contains(name) && !connectionOptions.contains(name)) {
+                forwarded.addAll(name, values);
+            }
+        });
+        return forwarded;
+    }
+
+    private static Set<String> caseInsensitive(Iterable<String> names) {
+        Set<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        names.forEach(result::add);
+        return result;
+    }
+}
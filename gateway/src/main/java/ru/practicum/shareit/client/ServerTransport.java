@@ -0,0 +1,17 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public interface ServerTransport {
+    /**
+     * Sends one request to the ShareIt server and returns its raw status, headers and body whatever the status is.
+     */
+    Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, Map<String, ?> parameters,
+                                          HttpHeaders headers, @Nullable Object body);
+}
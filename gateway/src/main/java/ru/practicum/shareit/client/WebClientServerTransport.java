@@ -0,0 +1,49 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@Component
+@Profile("reactive")
+public class WebClientServerTransport implements ServerTransport {
+    private final WebClient web;
+
+    @Autowired
+    public WebClientServerTransport(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                                    ClientHttpConnector shareItServerConnector) {
+        this(builder
+            .baseUrl(serverUrl)
+            .clientConnector(shareItServerConnector)
+            .build());
+    }
+
+    public WebClientServerTransport(WebClient web) {
+        this.web = web;
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, Map<String, ?> parameters,
+                                                 HttpHeaders headers, @Nullable Object body) {
+        WebClient.RequestBodySpec request = web.method(method)
+            .uri(path, parameters)
+            .headers(requestHeaders -> requestHeaders.addAll(headers));
+
+        return (body != null ? request.bodyValue(body) : request)
+            .exchangeToMono(response -> response.bodyToMono(byte[].class)
+                .defaultIfEmpty(new byte[0])
+                .map(responseBody -> ResponseEntity.status(response.rawStatusCode())
+                    .headers(response.headers().asHttpHeaders())
+                    .body(responseBody)));
+    }
+}
@@ -5,4 +5,6 @@ public interface QueryParametersInterface {
     String SIZE = "size";
     String STATE = "state";
     String TEXT = "text";
+    String CURSOR = "cursor";
+    String TO = "to";
 }
\ No newline at end of file
@@ -1,15 +1,16 @@
 package ru.practicum.shareit.item;
 
-import org.springframework.beans.factory.annotation.*;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.core.QueryParametersInterface;
 import ru.practicum.shareit.item.dto.*;
+import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 @Service
@@ -17,24 +18,28 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-            builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public ItemClient(ServerTransport server, ServerResponseCache responseCache) {
+        super(server, API_PREFIX, responseCache);
     }
 
-    public ResponseEntity<Object> saveItem(long userId, ItemRequestDto dto) {
+    public Mono<ResponseEntity<Object>> saveItem(long userId, ItemRequestDto dto) {
         return post("", userId, dto);
     }
 
-    public ResponseEntity<Object> saveComment(long userId, long itemId, CommentRequestDto dto) {
+    public Mono<ResponseEntity<Object>> saveComment(long userId, long itemId, CommentRequestDto dto) {
         return post("/" + itemId + "/comment", userId, dto);
     }
 
-    public ResponseEntity<Object> getItems(long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getItems(long userId, int from, String cursor, int size) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                QueryParametersInterface.CURSOR, cursor,
+                QueryParametersInterface.SIZE, size
+            );
+
+            return get("?cursor={cursor}&size={size}", userId, parameters);
+        }
+
         Map<String, Object> parameters = Map.of(
             QueryParametersInterface.FROM, from,
             QueryParametersInterface.SIZE, size
@@ -43,15 +48,35 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getItemById(long userId, long itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getItemById(long userId, long itemId) {
+        return getCached("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> updateItem(long userId, long itemId, ItemRequestDto dto) {
+    public Mono<ResponseEntity<Object>> getAvailability(long userId, long itemId, LocalDateTime from,
+                                                        LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+            QueryParametersInterface.FROM, from,
+            QueryParametersInterface.TO, to
+        );
+
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(long userId, long itemId, ItemRequestDto dto) {
         return patch("/" + itemId, userId, dto);
     }
 
-    public ResponseEntity<Object> search(long userId, String text, int from, int size) {
+    public Mono<ResponseEntity<Object>> search(long userId, String text, int from, String cursor, int size) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                QueryParametersInterface.TEXT, text,
+                QueryParametersInterface.CURSOR, cursor,
+                QueryParametersInterface.SIZE, size
+            );
+
+            return get("/search?text={text}&cursor={cursor}&size={size}", userId, parameters);
+        }
+
         Map<String, Object> parameters = Map.of(
             QueryParametersInterface.TEXT, text,
             QueryParametersInterface.FROM, from,
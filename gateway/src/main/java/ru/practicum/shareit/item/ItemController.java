@@ -2,14 +2,17 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.*;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 import javax.validation.constraints.*;
+import java.time.LocalDateTime;
 
 @Controller
 @RequestMapping(path = "/items")
@@ -20,7 +23,7 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> save(
+    public Mono<ResponseEntity<Object>> save(
         @RequestHeader("X-Sharer-User-Id") Long userId,
         @Valid @RequestBody ItemRequestDto dto) {
         log.info("Creating item {}, userId {}", dto, userId);
@@ -28,7 +31,7 @@ public class ItemController {
     }
 
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> save(
+    public Mono<ResponseEntity<Object>> save(
         @RequestHeader("X-Sharer-User-Id") Long userId,
         @PathVariable Long itemId,
         @Valid @RequestBody CommentRequestDto dto) {
@@ -37,7 +40,7 @@ public class ItemController {
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> update(@RequestHeader("X-Sharer-User-Id") Long userId,
         @PathVariable Long itemId,
         @RequestBody ItemRequestDto dto) {
         log.info("Updating item with id {}", itemId);
@@ -45,25 +48,37 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> findById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId) {
+    public Mono<ResponseEntity<Object>> findById(@RequestHeader("X-Sharer-User-Id") Long userId,
+        @PathVariable Long itemId) {
         log.info("Get item with id {}", itemId);
         return itemClient.getItemById(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@RequestHeader("X-Sharer-User-Id") Long userId,
+        @PathVariable Long itemId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Get availability of item {} from {} to {}", itemId, from, to);
+        return itemClient.getAvailability(userId, itemId, from, to);
+    }
+
     @GetMapping
-    public ResponseEntity<Object> findAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> findAll(@RequestHeader("X-Sharer-User-Id") Long userId,
         @PositiveOrZero @RequestParam(defaultValue = "0", required = false) Integer from,
+        @RequestParam(required = false) String cursor,
         @Positive @RequestParam(defaultValue = "10", required = false) Integer size) {
         log.info("Get all items, userId {}", userId);
-        return itemClient.getItems(userId, from, size);
+        return itemClient.getItems(userId, from, cursor, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> search(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> search(@RequestHeader("X-Sharer-User-Id") Long userId,
         @RequestParam String text,
         @PositiveOrZero @RequestParam(defaultValue = "0", required = false) Integer from,
+        @RequestParam(required = false) String cursor,
         @Positive @RequestParam(defaultValue = "10", required = false) Integer size) {
         log.info("Searching items including text {}", text);
-        return itemClient.search(userId, text, from, size);
+        return itemClient.search(userId, text, from, cursor, size);
     }
 }
\ No newline at end of file
@@ -1,14 +1,14 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.beans.factory.annotation.*;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.core.QueryParametersInterface;
 import ru.practicum.shareit.request.dto.RequestDto;
+import reactor.core.publisher.Mono;
 
 import java.util.Map;
 
@@ -17,28 +17,32 @@ public class RequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-            builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public RequestClient(ServerTransport server, ServerResponseCache responseCache) {
+        super(server, API_PREFIX, responseCache);
     }
 
-    public ResponseEntity<Object> save(long userId, RequestDto dto) {
+    public Mono<ResponseEntity<Object>> save(long userId, RequestDto dto) {
         return post("", userId, dto);
     }
 
-    public ResponseEntity<Object> findById(long userId, long requestId) {
-        return get("/" + requestId, userId);
+    public Mono<ResponseEntity<Object>> findById(long userId, long requestId) {
+        return getCached("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> findAll(long userId) {
+    public Mono<ResponseEntity<Object>> findAll(long userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> findAllFromOtherUsers(long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> findAllFromOtherUsers(long userId, int from, String cursor, int size) {
+        if (cursor != null) {
+            Map<String, Object> parameters = Map.of(
+                QueryParametersInterface.CURSOR, cursor,
+                QueryParametersInterface.SIZE, size
+            );
+
+            return get("/all?cursor={cursor}&size={size}", userId, parameters);
+        }
+
         Map<String, Object> parameters = Map.of(
             QueryParametersInterface.FROM, from,
             QueryParametersInterface.SIZE, size
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.RequestDto;
+import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
 import javax.validation.constraints.*;
@@ -20,28 +21,31 @@ public class RequestController {
     private final RequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> save(@RequestHeader("X-Sharer-User-Id") Long userId, @Valid @RequestBody RequestDto dto) {
+    public Mono<ResponseEntity<Object>> save(@RequestHeader("X-Sharer-User-Id") Long userId,
+        @Valid @RequestBody RequestDto dto) {
         log.info("Creating request {}, userId {}", dto, userId);
         return requestClient.save(userId, dto);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> findById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long requestId) {
+    public Mono<ResponseEntity<Object>> findById(@RequestHeader("X-Sharer-User-Id") Long userId,
+        @PathVariable Long requestId) {
         log.info("Get request with id {}", requestId);
         return requestClient.findById(userId, requestId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAll(@RequestHeader("X-Sharer-User-Id") Long userId) {
+    public Mono<ResponseEntity<Object>> findAll(@RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Get all requests, userId {}", userId);
         return requestClient.findAll(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> findAllFromOtherUsers(@RequestHeader("X-Sharer-User-Id") Long userId,
+    public Mono<ResponseEntity<Object>> findAllFromOtherUsers(@RequestHeader("X-Sharer-User-Id") Long userId,
         @PositiveOrZero @RequestParam(defaultValue = "0", required = false) Integer from,
+        @RequestParam(required = false) String cursor,
         @Positive @RequestParam(defaultValue = "10", required = false) Integer size) {
         log.info("Get all requests from other user {}", userId);
-        return requestClient.findAllFromOtherUsers(userId, from, size);
+        return requestClient.findAllFromOtherUsers(userId, from, cursor, size);
     }
 }
\ No newline at end of file
@@ -1,45 +1,40 @@
 package ru.practicum.shareit.user;
 
-import org.springframework.beans.factory.annotation.*;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerResponseCache;
+import ru.practicum.shareit.client.ServerTransport;
 import ru.practicum.shareit.user.dto.UserRequestDto;
+import reactor.core.publisher.Mono;
 
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-            builder
-                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
-        );
+    public UserClient(ServerTransport server, ServerResponseCache responseCache) {
+        super(server, API_PREFIX, responseCache);
     }
 
-    public ResponseEntity<Object> getUsers() {
+    public Mono<ResponseEntity<Object>> getUsers() {
         return get("");
     }
 
-    public ResponseEntity<Object> getUserById(long id) {
-        return get("/" + id);
+    public Mono<ResponseEntity<Object>> getUserById(long id) {
+        return getCached("/" + id, null);
     }
 
-    public ResponseEntity<Object> save(UserRequestDto requestDto) {
+    public Mono<ResponseEntity<Object>> save(UserRequestDto requestDto) {
         return post("", requestDto);
     }
 
-    public ResponseEntity<Object> update(UserRequestDto requestDto, long userId) {
+    public Mono<ResponseEntity<Object>> update(UserRequestDto requestDto, long userId) {
         return patch("/" + userId, requestDto);
     }
 
-    public ResponseEntity<Object> delete(long userId) {
+    public Mono<ResponseEntity<Object>> delete(long userId) {
         return delete("/" + userId);
     }
 }
\ No newline at end of file
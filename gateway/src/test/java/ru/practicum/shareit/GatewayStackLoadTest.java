@@ -0,0 +1,157 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.ShareItGateway;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Tag("benchmark")
+public class GatewayStackLoadTest {
+    private static final byte[] USER = "{\"id\":1,\"name\":\"user\",\"email\":\"user@mail.ru\"}"
+        .getBytes(StandardCharsets.UTF_8);
+    private static final long SERVER_LATENCY_MILLIS = 4_000;
+    private static final int CALLERS = 320;
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private CloseableHttpClient callerClient;
+
+    @BeforeAll
+    static void beforeAll() {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        serverThreads = Executors.newFixedThreadPool(CALLERS * 2);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), CALLERS * 2);
+        server.setExecutor(serverThreads);
+        server.createContext("/users", exchange -> {
+            try {
+                Thread.sleep(SERVER_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, USER.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(USER);
+            }
+        });
+        server.start();
+        callerClient = HttpClients.custom()
+            .setMaxConnTotal(CALLERS)
+            .setMaxConnPerRoute(CALLERS)
+            .build();
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        callerClient.close();
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void getUser_whenServletAndReactiveStacks_thenReactiveHoldsMoreRequestsInFlight() throws Exception {
+        double servlet = measure("default");
+        double reactive = measure("reactive");
+
+        assertTrue(reactive > servlet * 1.2);
+    }
+
+    private double measure(String profile) throws Exception {
+        try (ConfigurableApplicationContext gateway = startGateway(profile)) {
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) gateway).getWebServer().getPort();
+
+            assertEquals(200, send(new HttpGet(baseUrl + "/users/1")));
+            assertEquals(400, send(post(baseUrl + "/users", "{\"name\":\"user\"}")));
+
+            AtomicLong completed = new AtomicLong();
+            AtomicLong failures = new AtomicLong();
+            AtomicBoolean stopped = new AtomicBoolean();
+            ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+            for (int i = 0; i < CALLERS; i++) {
+                callers.submit(() -> {
+                    while (!stopped.get()) {
+                        if (send(new HttpGet(baseUrl + "/users/1")) == 200) {
+                            completed.incrementAndGet();
+                        } else {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            Thread.sleep(WARMUP.toMillis());
+            long before = completed.get();
+            Thread.sleep(MEASUREMENT.toMillis());
+            double throughput = (completed.get() - before) * 1_000.0 / MEASUREMENT.toMillis();
+            stopped.set(true);
+            callers.shutdown();
+            callers.awaitTermination(SERVER_LATENCY_MILLIS * 3, TimeUnit.MILLISECONDS);
+
+            log.info("Gateway stack throughput: profile - {}, callers - {}, server latency - {} ms, " +
+                    "requests per second - {}, failures - {}", profile, CALLERS, SERVER_LATENCY_MILLIS,
+                Math.round(throughput), failures.get());
+            assertEquals(0, failures.get());
+            return throughput;
+        }
+    }
+
+    private ConfigurableApplicationContext startGateway(String profile) {
+        return new SpringApplicationBuilder(ShareItGateway.class)
+            .profiles(profile)
+            .run("--server.port=0",
+                "--shareit-server.url=http://localhost:" + server.getAddress().getPort(),
+                "--shareit-server.http.max-total=" + CALLERS,
+                "--shareit-server.http.max-per-route=" + CALLERS,
+                "--logging.level.org.springframework.web.client.RestTemplate=INFO",
+                "--logging.level.org.springframework.web.reactive.function.client.ExchangeFunctions=INFO",
+                "--logging.level.ru.practicum.shareit.user=WARN");
+    }
+
+    private int send(HttpUriRequest request) throws Exception {
+        return callerClient.execute(request, response -> {
+            EntityUtils.consume(response.getEntity());
+            return response.getStatusLine().getStatusCode();
+        });
+    }
+
+    private static HttpPost post(String url, String body) {
+        HttpPost request = new HttpPost(url);
+        request.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+        return request;
+    }
+}
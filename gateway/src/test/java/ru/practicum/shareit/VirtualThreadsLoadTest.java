@@ -0,0 +1,157 @@
+package ru.practicum.shareit;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+import ru.practicum.ShareItGateway;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Slf4j
+@Tag("benchmark")
+public class VirtualThreadsLoadTest {
+    private static final byte[] USER = "{\"id\":1,\"name\":\"user\",\"email\":\"user@mail.ru\"}"
+        .getBytes(StandardCharsets.UTF_8);
+    private static final int CONNECTIONS = Integer.getInteger("benchmark.connections", 10_000);
+    private static final Duration SERVER_LATENCY = Duration.ofSeconds(5);
+    private static final Duration TIMEOUT = Duration.ofMinutes(10);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private LoopResources loops;
+    private DisposableServer server;
+
+    @BeforeEach
+    void beforeEach() {
+        loops = LoopResources.create("benchmark");
+        server = HttpServer.create()
+            .runOn(loops)
+            .host("localhost")
+            .port(0)
+            .route(routes -> routes.get("/users/{id}", (request, response) -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return response.header("Content-Type", "application/json")
+                    .sendByteArray(Mono.delay(SERVER_LATENCY)
+                        .map(tick -> USER)
+                        .doFinally(signal -> inFlight.decrementAndGet()));
+            }))
+            .bindNow();
+    }
+
+    @AfterEach
+    void afterEach() {
+        server.disposeNow();
+        loops.disposeLater().block(TIMEOUT);
+    }
+
+    @Test
+    void getUser_whenVirtualThreads_thenMoreRequestsInFlightAndLowerTailLatency() {
+        Result platform = measure(false);
+        assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require Java 21, build on JDK 21 or run with -Djvm=<jdk21>/bin/java");
+        Result virtual = measure(true);
+
+        assertTrue(virtual.maxInFlight > platform.maxInFlight * 2);
+        assertTrue(virtual.p99 < platform.p99);
+    }
+
+    private Result measure(boolean virtualThreads) {
+        maxInFlight.set(0);
+        try (ConfigurableApplicationContext gateway = startGateway(virtualThreads)) {
+            String baseUrl = "http://localhost:" + ((WebServerApplicationContext) gateway).getWebServer().getPort();
+            ConnectionProvider connections = ConnectionProvider.builder("benchmark")
+                .maxConnections(CONNECTIONS)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(TIMEOUT)
+                .build();
+            HttpClient client = HttpClient.create(connections)
+                .runOn(loops)
+                .baseUrl(baseUrl)
+                .responseTimeout(TIMEOUT);
+            long[] latencies = new long[CONNECTIONS];
+            AtomicInteger completed = new AtomicInteger();
+            AtomicInteger failures = new AtomicInteger();
+
+            long started = System.nanoTime();
+            try {
+                Flux.range(0, CONNECTIONS)
+                    .flatMap(caller -> send(client, latencies, completed, failures), CONNECTIONS)
+                    .blockLast(TIMEOUT);
+            } finally {
+                connections.disposeLater().block(TIMEOUT);
+            }
+            long elapsed = System.nanoTime() - started;
+
+            Arrays.sort(latencies, 0, completed.get());
+            Result result = new Result(maxInFlight.get(), percentile(latencies, completed.get(), 0.99));
+            log.info("Gateway thread mode: virtual threads - {}, connections - {}, server latency - {} ms, " +
+                    "max in flight - {}, p50 - {} ms, p99 - {} ms, requests per second - {}, failures - {}",
+                virtualThreads, CONNECTIONS, SERVER_LATENCY.toMillis(), result.maxInFlight,
+                percentile(latencies, completed.get(), 0.5), result.p99,
+                completed.get() * 1_000_000_000L / elapsed, failures.get());
+
+            assertEquals(0, failures.get());
+            assertEquals(latencies.length, completed.get());
+            return result;
+        }
+    }
+
+    private Mono<Integer> send(HttpClient client, long[] latencies, AtomicInteger completed, AtomicInteger failures) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return client.get()
+                .uri("/users/1")
+                .responseSingle((response, body) -> body.asByteArray()
+                    .defaultIfEmpty(new byte[0])
+                    .thenReturn(response.status().code()))
+                .doOnNext(status -> {
+                    latencies[completed.getAndIncrement()] = (System.nanoTime() - started) / 1_000_000;
+                    if (status != 200) {
+                        failures.incrementAndGet();
+                    }
+                });
+        });
+    }
+
+    private ConfigurableApplicationContext startGateway(boolean virtualThreads) {
+        return new SpringApplicationBuilder(ShareItGateway.class)
+            .run("--server.port=0",
+                "--server.tomcat.max-connections=" + (CONNECTIONS + 100),
+                "--server.tomcat.accept-count=" + CONNECTIONS,
+                "--shareit.virtual-threads.enabled=" + virtualThreads,
+                "--shareit-server.url=http://localhost:" + server.port(),
+                "--shareit-server.http.max-total=" + CONNECTIONS,
+                "--shareit-server.http.max-per-route=" + CONNECTIONS,
+                "--shareit-server.http.pool-timeout=" + TIMEOUT.toSeconds() + "s",
+                "--logging.level.org.springframework.web.client.RestTemplate=INFO",
+                "--logging.level.ru.practicum.shareit.user=WARN");
+    }
+
+    private static long percentile(long[] sorted, int count, double percentile) {
+        return sorted[Math.max(0, (int) Math.ceil(count * percentile) - 1)];
+    }
+
+    @AllArgsConstructor
+    private static class Result {
+        private final int maxInFlight;
+        private final long p99;
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class BaseClientTest {
+    private static final byte[] PAGE = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NOT_FOUND = "{\"error\":\"not found\"}".getBytes(StandardCharsets.UTF_8);
+    private static final String ETAG = "\"v1\"";
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add(NEXT_CURSOR, "abc");
+            exchange.getResponseHeaders().add("ETag", ETAG);
+            if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            // Zero length makes the stub answer with Transfer-Encoding: chunked.
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(PAGE);
+            }
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add(NEXT_CURSOR, "none");
+            exchange.sendResponseHeaders(404, NOT_FOUND.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(NOT_FOUND);
+            }
+        });
+        server.start();
+
+        url = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void afterEach() {
+        server.stop(0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"servlet", "reactive"})
+    void get_whenServerSetsHeaders_thenHeadersForwardedWithoutHopByHop(String transport) {
+        ResponseEntity<Object> response = client(transport).get("/items", 1L).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("abc", response.getHeaders().getFirst(NEXT_CURSOR));
+        assertEquals(ETAG, response.getHeaders().getETag());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(PAGE, (byte[]) response.getBody());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"servlet", "reactive"})
+    void get_whenServerReturnsError_thenHeadersForwarded(String transport) {
+        ResponseEntity<Object> response = client(transport).get("/missing", 1L).block();
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("none", response.getHeaders().getFirst(NEXT_CURSOR));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+        assertArrayEquals(NOT_FOUND, (byte[]) response.getBody());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"servlet", "reactive"})
+    void getCached_whenRevalidated_thenCachedHeadersForwarded(String transport) {
+        BaseClient client = client(transport);
+        client.getCached("/items", 1L).block();
+        ResponseEntity<Object> response = client.getCached("/items", 1L).block();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("abc", response.getHeaders().getFirst(NEXT_CURSOR));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING));
+        assertArrayEquals(PAGE, (byte[]) response.getBody());
+    }
+
+    private BaseClient client(String transport) {
+        ServerTransport server = "reactive".equals(transport)
+            ? new WebClientServerTransport(WebClient.create(url))
+            : new RestTemplateServerTransport(url, new RestTemplateBuilder(), new SimpleClientHttpRequestFactory());
+        return new BaseClient(server, "",
+            new ServerResponseCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry()));
+    }
+}
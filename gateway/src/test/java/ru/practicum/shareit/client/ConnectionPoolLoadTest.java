@@ -0,0 +1,132 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import ru.practicum.shareit.user.UserClient;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Tag("benchmark")
+public class ConnectionPoolLoadTest {
+    private static final byte[] USER = "{\"id\":1,\"name\":\"user\",\"email\":\"user@mail.ru\"}"
+        .getBytes(StandardCharsets.UTF_8);
+    private static final long SERVER_LATENCY_MILLIS = 10;
+    private static final int CALLERS = 64;
+    private static final Duration WARMUP = Duration.ofMillis(500);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(3);
+    private HttpServer server;
+    private ExecutorService serverThreads;
+
+    @BeforeAll
+    static void beforeAll() {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.INFO);
+        serverThreads = Executors.newFixedThreadPool(CALLERS * 2);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), CALLERS * 2);
+        server.setExecutor(serverThreads);
+        server.createContext("/users", exchange -> {
+            try {
+                Thread.sleep(SERVER_LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, USER.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(USER);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void afterEach() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Test
+    void getUser_whenPoolGrows_thenThroughputScales() throws Exception {
+        double smallest = 0;
+        double largest = 0;
+        for (int poolSize : new int[]{2, 8, 32, 64}) {
+            double throughput = measure(poolSize);
+            log.info("Gateway client throughput: pool size - {}, callers - {}, server latency - {} ms, " +
+                "requests per second - {}", poolSize, CALLERS, SERVER_LATENCY_MILLIS, Math.round(throughput));
+
+            if (smallest == 0) {
+                smallest = throughput;
+            }
+            largest = throughput;
+        }
+
+        assertTrue(largest > smallest * 6);
+    }
+
+    private double measure(int poolSize) throws Exception {
+        HttpClientConfig config = new HttpClientConfig();
+        PoolingHttpClientConnectionManager connectionManager = config.shareItServerConnectionManager(poolSize, poolSize,
+            Duration.ofSeconds(2));
+        try (CloseableHttpClient httpClient = config.shareItServerHttpClient(connectionManager, Duration.ofSeconds(2),
+            Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofSeconds(60))) {
+            UserClient client = new UserClient(new RestTemplateServerTransport(
+                "http://localhost:" + server.getAddress().getPort(), new RestTemplateBuilder(),
+                config.shareItServerRequestFactory(httpClient)),
+                new ServerResponseCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry()));
+
+            run(client, WARMUP);
+            return run(client, MEASUREMENT) * 1_000.0 / MEASUREMENT.toMillis();
+        }
+    }
+
+    private long run(UserClient client, Duration duration) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        AtomicLong completed = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<?>> futures = new ArrayList<>(CALLERS);
+
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(callers.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    client.getUserById(1L).block();
+                    completed.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        callers.shutdown();
+        callers.awaitTermination(1, TimeUnit.SECONDS);
+
+        return completed.get();
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@Tag("benchmark")
+public class ResponsePassthroughBenchmarkTest {
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP = 5_000;
+    private static final int ITERATIONS = 20_000;
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] page;
+    private HttpServer server;
+
+    @BeforeAll
+    static void beforeAll() {
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.INFO);
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            json.append(i == 0 ? "" : ",")
+                .append("{\"id\":").append(i)
+                .append(",\"start\":\"2026-11-").append(10 + i % 10).append("T11:11:00\"")
+                .append(",\"end\":\"2026-11-").append(11 + i % 10).append("T11:11:00\"")
+                .append(",\"item\":{\"id\":").append(i).append(",\"name\":\"drill ").append(i).append("\"}")
+                .append(",\"booker\":{\"id\":2,\"name\":\"booker\"}")
+                .append(",\"status\":\"APPROVED\"}");
+        }
+        page = json.append("]").toString().getBytes(StandardCharsets.UTF_8);
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/bookings", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, page.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(page);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void afterEach() {
+        server.stop(0);
+    }
+
+    @Test
+    void getBookings_whenBytesPassedThrough_thenFewerAllocationsThanObjectTree() throws Exception {
+        HttpClientConfig config = new HttpClientConfig();
+        try (CloseableHttpClient httpClient = config.shareItServerHttpClient(
+            config.shareItServerConnectionManager(1, 1, Duration.ofSeconds(2)), Duration.ofSeconds(2),
+            Duration.ofSeconds(2), Duration.ofSeconds(30), Duration.ofSeconds(30), Duration.ofSeconds(60))) {
+            RestTemplate rest = new RestTemplateBuilder()
+                .uriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:" + server.getAddress().getPort()))
+                .requestFactory(() -> config.shareItServerRequestFactory(httpClient))
+                .build();
+            BaseClient client = new BaseClient(new RestTemplateServerTransport(rest), "");
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+            HttpEntity<Object> request = new HttpEntity<>(headers);
+
+            ResponseEntity<Object> passthrough = client.get("/bookings", 1L).block();
+            assertEquals(MediaType.APPLICATION_JSON, passthrough.getHeaders().getContentType());
+            assertArrayEquals(page, (byte[]) passthrough.getBody());
+
+            long objectTree = report("object tree", () -> objectMapper.writeValueAsBytes(
+                rest.exchange("/bookings", HttpMethod.GET, request, Object.class).getBody()));
+            long bytes = report("byte passthrough", () -> client.get("/bookings", 1L).block().getBody());
+
+            assertTrue(bytes < objectTree * 0.8);
+        }
+    }
+
+    private long report(String path, Callable<Object> call) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            call.call();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.call();
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = (THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore) / ITERATIONS;
+
+        log.info("Gateway response path: {}, payload - {} bytes, allocated - {} bytes per request, " +
+            "throughput - {} requests/s", path, page.length, allocated, ITERATIONS * 1_000_000_000L / elapsed);
+        return allocated;
+    }
+}
@@ -2,15 +2,15 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.ShortBookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.core.pagination.CursorPage;
 
-import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -18,28 +18,28 @@ import java.util.Collection;
 @Slf4j
 public class BookingController {
     private final BookingService bookingService;
-    public static final Sort SORT = Sort.by("start").descending();
 
     @GetMapping("/owner")
-    public Collection<BookingDto> findAllByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                  @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-                                                  @RequestParam(required = false, defaultValue = "0") Integer from,
-                                                  @RequestParam(required = false, defaultValue = "10") Integer size) {
-        Pageable pageable = PageRequest.of(from / size, size, SORT);
-        Collection<BookingDto> bookingDtos = bookingService.findBookingsByItemOwnerId(userId, stateParam, pageable);
-        log.info("All bookings by user id - {}: size - {}", userId, bookingDtos.size());
-        return bookingDtos;
+    public ResponseEntity<List<BookingDto>> findAllByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                            @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                            @RequestParam(required = false, defaultValue = "0") Integer from,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false, defaultValue = "10") Integer size) {
+        CursorPage<BookingDto> bookingDtos = bookingService.findBookingsByItemOwnerId(userId, stateParam, from, cursor, size);
+        log.info("All bookings by user id - {}: size - {}", userId, bookingDtos.getContent().size());
+        return bookingDtos.toResponseEntity();
     }
 
     @GetMapping
-    public Collection<BookingDto> findByUserIdAndState(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                       @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
-                                                       @RequestParam(required = false, defaultValue = "0") Integer from,
-                                                       @RequestParam(required = false, defaultValue = "10") Integer size) {
-        Pageable pageable = PageRequest.of(from / size, size, SORT);
-        Collection<BookingDto> bookingDtos = bookingService.findByUserIdAndState(userId, stateParam, pageable);
-        log.info("All bookings by user id - {} and state - {}: size - {}", userId, stateParam, bookingDtos.size());
-        return bookingDtos;
+    public ResponseEntity<List<BookingDto>> findByUserIdAndState(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                 @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
+                                                                 @RequestParam(required = false, defaultValue = "0") Integer from,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false, defaultValue = "10") Integer size) {
+        CursorPage<BookingDto> bookingDtos = bookingService.findByUserIdAndState(userId, stateParam, from, cursor, size);
+        log.info("All bookings by user id - {} and state - {}: size - {}", userId, stateParam,
+                bookingDtos.getContent().size());
+        return bookingDtos.toResponseEntity();
     }
 
     @GetMapping("/{bookingId}")
@@ -56,6 +56,14 @@ public class BookingController {
         return bookingDto;
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> saveAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @RequestBody List<ShortBookingDto> dtos) {
+        List<BookingBatchResultDto> results = bookingService.saveAll(userId, dtos);
+        log.info("Save bookings batch by user id - {}: size - {}", userId, results.size());
+        return results;
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto update(
             @RequestHeader("X-Sharer-User-Id") Long userId,
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.core.exception.exceptions.ConflictException;
+import ru.practicum.shareit.core.exception.exceptions.NotFoundException;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class BookingBatchResultDto {
+    private Integer index;
+    private Integer status;
+    private BookingDto booking;
+    private String error;
+
+    public static BookingBatchResultDto created(int index, BookingDto booking) {
+        return BookingBatchResultDto.builder()
+            .index(index)
+            .status(HttpStatus.CREATED.value())
+            .booking(booking)
+            .build();
+    }
+
+    public static BookingBatchResultDto failed(int index, RuntimeException exception) {
+        HttpStatus status = HttpStatus.BAD_REQUEST;
+        if (exception instanceof NotFoundException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (exception instanceof ConflictException) {
+            status = HttpStatus.CONFLICT;
+        }
+
+        return BookingBatchResultDto.builder()
+            .index(index)
+            .status(status.value())
+            .error(exception.getMessage())
+            .build();
+    }
+}
@@ -4,8 +4,6 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import ru.practicum.shareit.booking.model.Status;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 
@@ -16,7 +14,12 @@ public class BookingDto {
     private Long id;
     private LocalDateTime start;
     private LocalDateTime end;
-    private Item item;
-    private User booker;
+    private ItemDtoInBooking item;
+    private BookerDto booker;
     private Status status;
-}
\ No newline at end of file
+
+    public BookingDto(Long id, LocalDateTime start, LocalDateTime end, Long itemId, String itemName, Long bookerId,
+                      String bookerName, Status status) {
+        this(id, start, end, new ItemDtoInBooking(itemId, itemName), new BookerDto(bookerId, bookerName), status);
+    }
+}
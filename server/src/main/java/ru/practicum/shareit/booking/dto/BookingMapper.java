@@ -12,21 +12,18 @@ public class BookingMapper {
             .id(booking.getId())
             .start(booking.getStart())
             .end(booking.getEnd())
-            .item(booking.getItem())
-            .booker(booking.getBooker())
+            .item(toItemDtoInBooking(booking.getItem()))
+            .booker(toBookerDto(booking.getBooker()))
             .status(booking.getStatus())
             .build();
     }
 
-    public static Booking toBookingFromBookingDto(BookingDto dto) {
-        return Booking.builder()
-            .id(dto.getId())
-            .start(dto.getStart())
-            .end(dto.getEnd())
-            .item(dto.getItem())
-            .booker(dto.getBooker())
-            .status(dto.getStatus())
-            .build();
+    public static ItemDtoInBooking toItemDtoInBooking(Item item) {
+        return new ItemDtoInBooking(item.getId(), item.getName());
+    }
+
+    public static BookerDto toBookerDto(User booker) {
+        return new BookerDto(booker.getId(), booker.getName());
     }
 
     public static Booking toBooking(ShortBookingDto dto, Item item, User booker) {
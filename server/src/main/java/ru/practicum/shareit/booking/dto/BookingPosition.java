@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.core.pagination.Cursor;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class BookingPosition {
+    private final LocalDateTime start;
+    private final long bookingId;
+
+    public static BookingPosition of(Booking booking) {
+        return new BookingPosition(booking.getStart(), booking.getId());
+    }
+
+    public static BookingPosition of(BookingDto booking) {
+        return new BookingPosition(booking.getStart(), booking.getId());
+    }
+
+    public static BookingPosition fromCursor(String cursor) {
+        return Cursor.decode(cursor, 2, keys -> new BookingPosition(LocalDateTime.parse(keys[0]), Long.parseLong(keys[1])));
+    }
+
+    public String toCursor() {
+        return Cursor.encode(start, bookingId);
+    }
+}
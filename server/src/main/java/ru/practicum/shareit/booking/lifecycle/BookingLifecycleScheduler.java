@@ -0,0 +1,202 @@
+package ru.practicum.shareit.booking.lifecycle;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.ShortBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Phase;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.core.caching.ResourceVersions;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class BookingLifecycleScheduler {
+    private static final int UPDATE_CHUNK = 500;
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ResourceVersions versions;
+    // Only bookings created or loaded by this process are queued, so phases of bookings written by another
+    // instance would never advance; SingleInstanceLock keeps the server to one instance per database.
+    private final PriorityQueue<Boundary> boundaries = new PriorityQueue<>(
+            Comparator.comparing(Boundary::getAt).thenComparing(Boundary::getPhase));
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "booking-lifecycle");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ScheduledFuture<?> wakeUp;
+
+    public BookingLifecycleScheduler(BookingRepository bookingRepository, PlatformTransactionManager transactionManager,
+                                     ResourceVersions versions) {
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.versions = versions;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        LocalDateTime now = LocalDateTime.now();
+        long[] counts = new long[2];
+
+        transactionTemplate.executeWithoutResult(status -> {
+            counts[0] = bookingRepository.markPast(now) + bookingRepository.markCurrent(now)
+                    + bookingRepository.markFuture(now);
+            try (Stream<ShortBookingDto> stream = bookingRepository.streamUnfinishedBookings(now)) {
+                for (ShortBookingDto booking : (Iterable<ShortBookingDto>) stream::iterator) {
+                    add(booking.getId(), booking.getItemId(), booking.getStart(), booking.getEnd());
+                    counts[1]++;
+                }
+            }
+        });
+
+        log.info("Планировщик фаз бронирований запущен, исправлено фаз: {}, отслеживается бронирований: {}",
+                counts[0], counts[1]);
+        reschedule();
+    }
+
+    public void schedule(Booking booking) {
+        long bookingId = booking.getId();
+        long itemId = booking.getItem().getId();
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            track(bookingId, itemId, start, end);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                track(bookingId, itemId, start, end);
+            }
+        });
+    }
+
+    public synchronized int pending() {
+        return boundaries.size();
+    }
+
+    public void advance(LocalDateTime now) {
+        Map<Long, Boundary> due = new LinkedHashMap<>();
+        synchronized (this) {
+            while (!boundaries.isEmpty() && !boundaries.peek().getAt().isAfter(now)) {
+                Boundary boundary = boundaries.poll();
+                due.put(boundary.getBookingId(), boundary);
+            }
+        }
+
+        if (due.isEmpty()) {
+            return;
+        }
+
+        due.values().forEach(boundary -> versions.changed(ResourceVersions.ITEMS, boundary.getItemId()));
+        try {
+            apply(due);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                due.values().forEach(boundary -> boundaries.add(new Boundary(now, boundary.getBookingId(),
+                        boundary.getItemId(), boundary.getPhase())));
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private void apply(Map<Long, Boundary> due) {
+        Map<Phase, List<Long>> byPhase = new EnumMap<>(Phase.class);
+        due.forEach((bookingId, boundary) -> byPhase.computeIfAbsent(boundary.getPhase(), key -> new ArrayList<>())
+                .add(bookingId));
+
+        byPhase.forEach((phase, bookingIds) -> {
+            for (int from = 0; from < bookingIds.size(); from += UPDATE_CHUNK) {
+                List<Long> chunk = bookingIds.subList(from, Math.min(from + UPDATE_CHUNK, bookingIds.size()));
+                transactionTemplate.executeWithoutResult(status -> bookingRepository.updatePhase(chunk, phase));
+            }
+        });
+        log.debug("Обновлены фазы бронирований: {}", due.size());
+    }
+
+    private void run() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            advance(now);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось обновить фазы бронирований, повтор через {} с", RETRY_DELAY.toSeconds(), e);
+            synchronized (this) {
+                wakeUp = executor.schedule(this::run, RETRY_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+            }
+            return;
+        }
+
+        reschedule();
+    }
+
+    private synchronized void track(long bookingId, long itemId, LocalDateTime start, LocalDateTime end) {
+        add(bookingId, itemId, start, end);
+        if (boundaries.peek().getBookingId() == bookingId) {
+            reschedule();
+        }
+    }
+
+    private synchronized void add(long bookingId, long itemId, LocalDateTime start, LocalDateTime end) {
+        boundaries.add(new Boundary(start, bookingId, itemId, Phase.CURRENT));
+        boundaries.add(new Boundary(end, bookingId, itemId, Phase.PAST));
+    }
+
+    private synchronized void reschedule() {
+        if (executor.isShutdown()) {
+            return;
+        }
+
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+            wakeUp = null;
+        }
+
+        Boundary next = boundaries.peek();
+        if (next != null) {
+            long delay = Math.max(Duration.between(LocalDateTime.now(), next.getAt()).toMillis() + 1, 0);
+            wakeUp = executor.schedule(this::run, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Boundary {
+        private final LocalDateTime at;
+        private final long bookingId;
+        private final long itemId;
+        private final Phase phase;
+    }
+}
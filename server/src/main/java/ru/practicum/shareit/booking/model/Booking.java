@@ -15,22 +15,38 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "bookings")
 @EqualsAndHashCode(of = "id")
+@NamedEntityGraph(name = Booking.VIEW_GRAPH, attributeNodes = {@NamedAttributeNode("item"), @NamedAttributeNode("booker")})
 public class Booking {
+    public static final String VIEW_GRAPH = "Booking.view";
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     @Column(name = "booking_id", nullable = false)
     private Long id;
     @Column(name = "start_date")
     private LocalDateTime start;
     @Column(name = "end_date")
     private LocalDateTime end;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     private Item item;
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id")
     private User booker;
     @Column
     @Enumerated(EnumType.STRING)
     private Status status;
+    @Column
+    @Enumerated(EnumType.STRING)
+    private Phase phase;
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    @PrePersist
+    private void initPhase() {
+        if (phase == null && start != null && end != null) {
+            phase = Phase.of(start, end, LocalDateTime.now());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum BookingState {
+    ALL(null, null),
+    CURRENT(Phase.CURRENT, null),
+    PAST(Phase.PAST, null),
+    FUTURE(Phase.FUTURE, null),
+    WAITING(null, Status.WAITING),
+    REJECTED(null, Status.REJECTED);
+
+    private final Phase phase;
+    private final Status status;
+}
@@ -1,57 +1,52 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.ShortBookingDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Phase;
 import ru.practicum.shareit.booking.model.Status;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-@Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBookerId(Long bookerId, Pageable pageable);
-
-    List<Booking> findByBookerIdAndStatus(Long bookerId, Status status, Pageable pageable);
-
-    List<Booking> findByBookerIdAndEndIsBefore(Long bookerId, LocalDateTime end, Pageable pageable);
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
-    List<Booking> findByBookerIdAndStartIsAfter(Long bookerId, LocalDateTime start, Pageable pageable);
-
-    @Query("select b from Booking b " +
-            "where b.booker.id = ?1 " +
-            "and b.start < ?2 " +
-            "and b.end > ?2 ")
-    List<Booking> findByBookerIdCurrent(Long bookerId, LocalDateTime now, Pageable pageable);
-
-    List<Booking> findBookingsByItemOwner(Long userId, Pageable pageable);
-
-    List<Booking> findBookingsByItemOwnerAndStatus(Long userId, Status status, Pageable pageable);
-
-    List<Booking> findBookingsByItemOwnerAndEndIsBefore(Long userId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findBookingsByItemOwnerAndStartIsAfter(Long userId, LocalDateTime start, Pageable pageable);
+@Repository
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingSearchRepository {
+    @EntityGraph(Booking.VIEW_GRAPH)
+    @Override
+    Optional<Booking> findById(Long id);
 
-    @Query("select b from Booking b " +
+    @Query("select new ru.practicum.shareit.booking.dto.ShortBookingDto(b.id, b.start, b.end, b.item.id, b.booker.id) " +
+            "from Booking b " +
             "where b.item.id = ?1 " +
             "and b.start < ?2 " +
             "order by b.start desc")
-    List<Booking> findBookingByItemIdAndStartBefore(Long itemId, LocalDateTime now);
+    List<ShortBookingDto> findLastBookingByItemId(Long itemId, LocalDateTime now, Pageable pageable);
 
-    @Query("select b from Booking b " +
+    @Query("select new ru.practicum.shareit.booking.dto.ShortBookingDto(b.id, b.start, b.end, b.item.id, b.booker.id) " +
+            "from Booking b " +
             "where b.item.id = ?1 " +
             "and b.start > ?2 " +
             "order by b.start asc")
-    List<Booking> findBookingByItemIdAndStartAfter(Long itemId, LocalDateTime now);
+    List<ShortBookingDto> findNextBookingByItemId(Long itemId, LocalDateTime now, Pageable pageable);
 
-    @Query("select b from Booking b " +
-            "where b.item.owner = ?1 " +
-            "and b.start < ?2 " +
-            "and b.end > ?2 " +
-            "order by b.start asc")
-    List<Booking> findBookingsByItemOwnerCurrent(Long userId, LocalDateTime now, Pageable pageable);
+    @Query("select new ru.practicum.shareit.booking.dto.ShortBookingDto(b.id, b.start, b.end, b.item.id, b.booker.id) " +
+            "from Booking b " +
+            "where b.item.id in ?1 " +
+            "and (b.start = (select max(l.start) from Booking l where l.item.id = b.item.id and l.start < ?2) " +
+            "or b.start = (select min(n.start) from Booking n where n.item.id = b.item.id and n.start > ?2))")
+    List<ShortBookingDto> findLastAndNextBookingsByItemIds(Collection<Long> itemIds, LocalDateTime now);
 
     @Query("select b from Booking b " +
             "where b.item.id = ?1 " +
@@ -59,4 +54,72 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
             "and b.end < ?3")
     List<Booking> findBookingsToAddComment(Long itemId, Long userId, LocalDateTime now);
 
-}
\ No newline at end of file
+    @Query("select case when count(b) > 0 then true else false end " +
+            "from Booking b " +
+            "where b.item.id = ?1 " +
+            "and b.start < ?3 " +
+            "and b.end > ?2 " +
+            "and b.id <> ?4 " +
+            "and b.status in ?5")
+    boolean existsOverlapping(Long itemId, LocalDateTime start, LocalDateTime end, Long bookingId,
+                              Collection<Status> statuses);
+
+    @Query("select new ru.practicum.shareit.booking.dto.ShortBookingDto(b.id, b.start, b.end, b.item.id, b.booker.id) " +
+            "from Booking b " +
+            "where b.item.id = ?1 " +
+            "and b.start < ?3 " +
+            "and b.end > ?2 " +
+            "and b.status in ?4 " +
+            "order by b.start")
+    List<ShortBookingDto> findActiveIntervals(Long itemId, LocalDateTime from, LocalDateTime to,
+                                              Collection<Status> statuses);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new ru.practicum.shareit.booking.dto.ShortBookingDto(b.id, b.start, b.end, b.item.id, b.booker.id) " +
+            "from Booking b " +
+            "where b.status in ?1 " +
+            "and b.end > ?2")
+    Stream<ShortBookingDto> streamActiveBookings(Collection<Status> statuses, LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b " +
+            "set b.status = ?3, b.version = b.version + 1 " +
+            "where b.id = ?1 " +
+            "and b.status <> ?3 " +
+            "and b.item.id in (select i.id from Item i where i.owner = ?2)")
+    int updateStatus(Long bookingId, Long ownerId, Status status);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new ru.practicum.shareit.booking.dto.ShortBookingDto(b.id, b.start, b.end, b.item.id, b.booker.id) " +
+            "from Booking b " +
+            "where b.end > ?1")
+    Stream<ShortBookingDto> streamUnfinishedBookings(LocalDateTime now);
+
+    @Modifying
+    @Query("update Booking b " +
+            "set b.phase = ?2 " +
+            "where b.id in ?1")
+    int updatePhase(Collection<Long> bookingIds, Phase phase);
+
+    @Modifying
+    @Query("update Booking b " +
+            "set b.phase = ru.practicum.shareit.booking.model.Phase.PAST " +
+            "where b.end <= ?1 " +
+            "and (b.phase is null or b.phase <> ru.practicum.shareit.booking.model.Phase.PAST)")
+    int markPast(LocalDateTime now);
+
+    @Modifying
+    @Query("update Booking b " +
+            "set b.phase = ru.practicum.shareit.booking.model.Phase.CURRENT " +
+            "where b.start <= ?1 " +
+            "and b.end > ?1 " +
+            "and (b.phase is null or b.phase <> ru.practicum.shareit.booking.model.Phase.CURRENT)")
+    int markCurrent(LocalDateTime now);
+
+    @Modifying
+    @Query("update Booking b " +
+            "set b.phase = ru.practicum.shareit.booking.model.Phase.FUTURE " +
+            "where b.start > ?1 " +
+            "and (b.phase is null or b.phase <> ru.practicum.shareit.booking.model.Phase.FUTURE)")
+    int markFuture(LocalDateTime now);
+}
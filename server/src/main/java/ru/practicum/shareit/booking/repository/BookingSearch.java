@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.Builder;
+import lombok.Getter;
+import ru.practicum.shareit.booking.dto.BookingPosition;
+import ru.practicum.shareit.booking.model.BookingState;
+
+@Getter
+@Builder
+public class BookingSearch {
+    private final Long bookerId;
+    private final Long ownerId;
+    @Builder.Default
+    private final BookingState state = BookingState.ALL;
+    private final BookingPosition after;
+    private final boolean ascending;
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.util.List;
+
+public interface BookingSearchRepository {
+    List<BookingDto> search(BookingSearch search, Pageable pageable);
+}
@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPosition;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingSearchRepositoryImpl implements BookingSearchRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingDto> search(BookingSearch search, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingDto> query = cb.createQuery(BookingDto.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Item> bookedItem = booking.join("item");
+        Join<Booking, User> booker = booking.join("booker");
+        query.select(cb.construct(BookingDto.class, booking.get("id"), booking.get("start"), booking.get("end"),
+                bookedItem.get("id"), bookedItem.get("name"), booker.get("id"), booker.get("name"),
+                booking.get("status")));
+
+        List<Predicate> where = new ArrayList<>();
+        if (search.getBookerId() != null) {
+            where.add(cb.equal(booking.get("booker").get("id"), search.getBookerId()));
+        }
+        if (search.getOwnerId() != null) {
+            Subquery<Long> ownedItems = query.subquery(Long.class);
+            Root<Item> item = ownedItems.from(Item.class);
+            ownedItems.select(item.get("id")).where(cb.equal(item.get("owner"), search.getOwnerId()));
+            where.add(booking.get("item").get("id").in(ownedItems));
+        }
+
+        BookingState state = search.getState();
+        if (state.getPhase() != null) {
+            where.add(cb.equal(booking.get("phase"), state.getPhase()));
+        }
+        if (state.getStatus() != null) {
+            where.add(cb.equal(booking.get("status"), state.getStatus()));
+        }
+
+        Path<LocalDateTime> start = booking.get("start");
+        Path<Long> id = booking.get("id");
+        BookingPosition after = search.getAfter();
+        if (search.isAscending()) {
+            if (after != null) {
+                where.add(cb.greaterThanOrEqualTo(start, after.getStart()));
+                where.add(cb.or(cb.greaterThan(start, after.getStart()),
+                        cb.and(cb.equal(start, after.getStart()), cb.greaterThan(id, after.getBookingId()))));
+            }
+            query.orderBy(cb.asc(start), cb.asc(id));
+        } else {
+            if (after != null) {
+                where.add(cb.lessThanOrEqualTo(start, after.getStart()));
+                where.add(cb.or(cb.lessThan(start, after.getStart()),
+                        cb.and(cb.equal(start, after.getStart()), cb.lessThan(id, after.getBookingId()))));
+            }
+            query.orderBy(cb.desc(start), cb.desc(id));
+        }
+
+        return entityManager.createQuery(query.where(where.toArray(new Predicate[0])))
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
@@ -1,20 +1,22 @@
 package ru.practicum.shareit.booking.service;
 
-import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.dto.*;
+import ru.practicum.shareit.core.pagination.CursorPage;
 
-import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
     BookingDto save(Long userId, ShortBookingDto dto);
 
+    List<BookingBatchResultDto> saveAll(Long userId, List<ShortBookingDto> dtos);
+
     BookingDto approve(Long userId, Long bookingId, Boolean approved);
 
     BookingDto findById(Long id, Long userId);
 
-    Collection<BookingDto> findByUserIdAndState(Long userId, String state, Pageable pageable);
+    CursorPage<BookingDto> findByUserIdAndState(Long userId, String state, int from, String cursor, int size);
 
-    Collection<BookingDto> findBookingsByItemOwnerId(Long userId, String state, Pageable pageable);
+    CursorPage<BookingDto> findBookingsByItemOwnerId(Long userId, String state, int from, String cursor, int size);
 
     public void hasUserZeroItems(long userId);
 
@@ -1,20 +1,35 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
-import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingPosition;
 import ru.practicum.shareit.booking.dto.ShortBookingDto;
+import ru.practicum.shareit.booking.lifecycle.BookingLifecycleScheduler;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSearch;
+import ru.practicum.shareit.booking.timeline.BookingTimelineIndex;
+import ru.practicum.shareit.core.caching.ResourceVersions;
+import ru.practicum.shareit.core.exception.exceptions.BadRequestException;
 import ru.practicum.shareit.core.exception.exceptions.BookingBadRequestException;
+import ru.practicum.shareit.core.exception.exceptions.BookingConflictException;
 import ru.practicum.shareit.core.exception.exceptions.BookingNotFoundException;
 import ru.practicum.shareit.core.exception.exceptions.CommentBadRequestException;
+import ru.practicum.shareit.core.exception.exceptions.ConcurrentUpdateException;
+import ru.practicum.shareit.core.exception.exceptions.ConflictException;
+import ru.practicum.shareit.core.exception.exceptions.ItemNotFoundException;
+import ru.practicum.shareit.core.exception.exceptions.NotFoundException;
 import ru.practicum.shareit.core.exception.exceptions.UnsupportedStatusException;
+import ru.practicum.shareit.core.pagination.CursorPage;
+import ru.practicum.shareit.core.pagination.OffsetPageRequest;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
@@ -22,8 +37,12 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.dto.BookingMapper.*;
@@ -36,54 +55,127 @@ public class BookingServiceImpl implements BookingService {
     private final ItemServiceImpl itemService;
     private final UserServiceImpl userService;
     private final StartAndEndValidator startAndEndValidator;
-    public static final Sort SORT = Sort.by("start").descending();
+    private final BookingTimelineIndex timelineIndex;
+    private final BookingLifecycleScheduler lifecycleScheduler;
+    private final ResourceVersions versions;
+    public static final Pageable FIRST = PageRequest.of(0, 1);
+    private static final int APPROVE_ATTEMPTS = 3;
+    private static final int MAX_BATCH_SIZE = 100;
 
     @Transactional
     @Override
     public BookingDto save(Long userId, ShortBookingDto dto) {
         Item item = itemService.getExistingItem(dto.getItemId());
         User booker = userService.getExistingUser(userId);
+        Booking booking = toNewBooking(dto, item, booker, userId);
 
-        if (item.getOwner().equals(userId)) {
-            throw new BookingNotFoundException("Вещь не может быть забронирована ее владельцем.");
+        try {
+            booking = bookingRepository.save(booking);
+            bookingRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new BookingConflictException("Вещь с id " + item.getId() + " уже забронирована на это время.");
         }
+        timelineIndex.reserve(booking);
+        lifecycleScheduler.schedule(booking);
+        versions.changed(ResourceVersions.ITEMS, item.getId());
 
-        if (!item.getAvailable()) {
-            throw new BookingBadRequestException("В данный момент товар недоступен для бронирования.");
+        return toBookingDto(booking);
+    }
+
+    @Transactional
+    @Override
+    public List<BookingBatchResultDto> saveAll(Long userId, List<ShortBookingDto> dtos) {
+        if (dtos.size() > MAX_BATCH_SIZE) {
+            throw new BookingBadRequestException("За один запрос можно создать не более " + MAX_BATCH_SIZE +
+                    " бронирований.");
         }
 
-        startAndEndValidator.validate(dto);
-        Booking booking = toBooking(dto, item, booker);
-        booking.setStatus(WAITING);
+        User booker = userService.getExistingUser(userId);
+        Map<Long, Item> items = itemService.getExistingItems(dtos.stream()
+                .map(ShortBookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        List<BookingBatchResultDto> results = new ArrayList<>(dtos.size());
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int index = 0; index < dtos.size(); index++) {
+            ShortBookingDto dto = dtos.get(index);
+            Booking booking;
+            try {
+                Item item = items.get(dto.getItemId());
+                if (item == null) {
+                    throw new ItemNotFoundException("Товар с id " + dto.getItemId() + " не найден.");
+                }
+
+                booking = toNewBooking(dto, item, booker, userId);
+                startAndEndValidator.validateNotInPast(dto, now);
+                timelineIndex.checkAvailable(booking);
+            } catch (NotFoundException | BadRequestException | ConflictException e) {
+                results.add(BookingBatchResultDto.failed(index, e));
+                continue;
+            }
 
-        return toBookingDto(bookingRepository.save(booking));
+            booking = bookingRepository.save(booking);
+            timelineIndex.reserve(booking);
+            lifecycleScheduler.schedule(booking);
+            versions.changed(ResourceVersions.ITEMS, booking.getItem().getId());
+            results.add(BookingBatchResultDto.created(index, toBookingDto(booking)));
+        }
+
+        try {
+            bookingRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new BookingConflictException("Одна из вещей уже забронирована на это время, повторите запрос.");
+        }
+
+        return results;
     }
 
     @Transactional
     @Override
     public BookingDto approve(Long userId, Long bookingId, Boolean approved) {
-        Booking booking = getExistingBooking(bookingId);
-        Item item = itemService.getExistingItem(booking.getItem().getId());
+        Status status = approved ? APPROVED : REJECTED;
 
-        if (!item.getOwner().equals(userId)) {
-            throw new BookingNotFoundException("Запрос может быть выполнен только владельцем вещи.");
-        }
+        for (int attempt = 1; updateStatus(bookingId, userId, status) == 0; attempt++) {
+            Booking booking = getExistingBooking(bookingId);
 
-        Status status = approved ? APPROVED : REJECTED;
-        if (booking.getStatus().equals(status)) {
-            throw new BookingBadRequestException("Ваша заявка уже ожидает подтверждения.");
+            if (!booking.getItem().getOwner().equals(userId)) {
+                throw new BookingNotFoundException("Запрос может быть выполнен только владельцем вещи.");
+            }
+
+            if (booking.getStatus().equals(status)) {
+                throw new BookingBadRequestException("Ваша заявка уже ожидает подтверждения.");
+            }
+
+            if (attempt >= APPROVE_ATTEMPTS) {
+                throw new ConcurrentUpdateException("Бронирование с id " + bookingId + " было изменено другим " +
+                        "запросом, повторите попытку.");
+            }
         }
 
-        booking.setStatus(status);
-        booking = bookingRepository.save(booking);
+        Booking booking = getExistingBooking(bookingId);
+        if (status == APPROVED) {
+            timelineIndex.reserve(booking);
+        } else {
+            timelineIndex.release(booking);
+        }
 
         return toBookingDto(booking);
     }
 
+    private int updateStatus(Long bookingId, Long userId, Status status) {
+        try {
+            return bookingRepository.updateStatus(bookingId, userId, status);
+        } catch (DataIntegrityViolationException e) {
+            throw new BookingConflictException("Бронирование с id " + bookingId + " пересекается с уже " +
+                    "подтвержденным бронированием этой вещи.");
+        }
+    }
+
     @Transactional(readOnly = true)
     @Override
     public BookingDto findById(Long id, Long userId) {
-        userService.getExistingUser(userId);
+        userService.checkUserExists(userId);
         Booking booking = getExistingBooking(id);
         validateRequester(booking, userId);
 
@@ -92,79 +184,58 @@ public class BookingServiceImpl implements BookingService {
 
     @Transactional(readOnly = true)
     @Override
-    public Collection<BookingDto> findByUserIdAndState(Long userId, String state, Pageable pageable) {
-        userService.getExistingUser(userId);
+    public CursorPage<BookingDto> findByUserIdAndState(Long userId, String state, int from, String cursor, int size) {
+        userService.checkUserExists(userId);
         hasUserZeroItems(userId);
-        checkUserBookingState(state);
-
-        List<Booking> bookings;
-
-        switch (state) {
-            case "ALL":
-                bookings = bookingRepository.findByBookerId(userId, pageable);
-                break;
-            case "CURRENT":
-                bookings = bookingRepository.findByBookerIdCurrent(userId, LocalDateTime.now(), pageable);
-                break;
-            case "PAST":
-                bookings = bookingRepository.findByBookerIdAndEndIsBefore(userId, LocalDateTime.now(), pageable);
-                break;
-            case "FUTURE":
-                bookings = bookingRepository.findByBookerIdAndStartIsAfter(userId, LocalDateTime.now(), pageable);
-                break;
-            case "WAITING":
-                bookings = bookingRepository.findByBookerIdAndStatus(userId, WAITING, pageable);
-                break;
-            case "REJECTED":
-                bookings = bookingRepository.findByBookerIdAndStatus(userId, REJECTED, pageable);
-                break;
-            default:
-                throw new UnsupportedStatusException("Unknown state: UNSUPPORTED_STATUS");
-        }
-
-        return bookings.stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+
+        return findPage(BookingSearch.builder().bookerId(userId), toBookingState(state), false, from, cursor, size);
     }
 
     @Transactional(readOnly = true)
     @Override
-    public Collection<BookingDto> findBookingsByItemOwnerId(Long userId, String state, Pageable pageable) {
-        userService.getExistingUser(userId);
+    public CursorPage<BookingDto> findBookingsByItemOwnerId(Long userId, String state, int from, String cursor, int size) {
+        userService.checkUserExists(userId);
         hasUserZeroItems(userId);
-        checkUserBookingState(state);
-
-        List<Booking> bookings;
-
-        switch (state) {
-            case "ALL":
-                bookings = bookingRepository.findBookingsByItemOwner(userId, pageable);
-                break;
-            case "CURRENT":
-                bookings = bookingRepository.findBookingsByItemOwnerCurrent(userId, LocalDateTime.now(),
-                        pageable);
-                break;
-            case "PAST":
-                bookings = bookingRepository.findBookingsByItemOwnerAndEndIsBefore(userId, LocalDateTime.now(), pageable);
-                break;
-            case "FUTURE":
-                bookings = bookingRepository.findBookingsByItemOwnerAndStartIsAfter(userId, LocalDateTime.now(), pageable);
-                break;
-            case "WAITING":
-                bookings = bookingRepository.findBookingsByItemOwnerAndStatus(userId, WAITING, pageable);
-                break;
-            case "REJECTED":
-                bookings = bookingRepository.findBookingsByItemOwnerAndStatus(userId, REJECTED, pageable);
-                break;
-            default:
-                throw new UnsupportedStatusException("Unknown state: UNSUPPORTED_STATUS");
-        }
-
-        return bookings.stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+        BookingState bookingState = toBookingState(state);
+
+        return findPage(BookingSearch.builder().ownerId(userId), bookingState, bookingState == BookingState.CURRENT,
+                from, cursor, size);
+    }
+
+    private CursorPage<BookingDto> findPage(BookingSearch.BookingSearchBuilder search, BookingState state,
+                                            boolean ascending, int from, String cursor, int size) {
+        List<BookingDto> bookings = bookingRepository.search(search
+                .state(state)
+                .after(cursor == null ? null : BookingPosition.fromCursor(cursor))
+                .ascending(ascending)
+                .build(), OffsetPageRequest.of(from, cursor, size));
+
+        return CursorPage.of(bookings, size, booking -> BookingPosition.of(booking).toCursor());
+    }
+
+    private BookingState toBookingState(String state) {
+        try {
+            return BookingState.valueOf(checkUserBookingState(state));
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedStatusException("Unknown state: UNSUPPORTED_STATUS");
+        }
     }
 
+    private Booking toNewBooking(ShortBookingDto dto, Item item, User booker, Long userId) {
+        if (item.getOwner().equals(userId)) {
+            throw new BookingNotFoundException("Вещь не может быть забронирована ее владельцем.");
+        }
+
+        if (!item.getAvailable()) {
+            throw new BookingBadRequestException("В данный момент товар недоступен для бронирования.");
+        }
+
+        startAndEndValidator.validate(dto);
+        Booking booking = toBooking(dto, item, booker);
+        booking.setStatus(WAITING);
+
+        return booking;
+    }
 
     public String checkUserBookingState(String state) {
         if (state == null || state.isBlank()) {
@@ -215,17 +286,45 @@ public class BookingServiceImpl implements BookingService {
     public void fillItemWithBookings(ItemDto result) {
         LocalDateTime now = LocalDateTime.now();
         bookingRepository
-                .findBookingByItemIdAndStartBefore(result.getId(), now)
+                .findLastBookingByItemId(result.getId(), now, FIRST)
                 .stream()
-                .findFirst().ifPresent(lastBooking -> result.setLastBooking(toShortBookingDto(lastBooking)));
+                .findFirst().ifPresent(result::setLastBooking);
 
         bookingRepository
-                .findBookingByItemIdAndStartAfter(result.getId(), now)
+                .findNextBookingByItemId(result.getId(), now, FIRST)
                 .stream()
-                .findFirst().ifPresent(nextBooking -> result.setNextBooking(toShortBookingDto(nextBooking)));
+                .findFirst().ifPresent(result::setNextBooking);
 
         if (result.getLastBooking() == null) {
             result.setNextBooking(null);
         }
     }
+
+    public void fillItemsWithBookings(Collection<ItemDto> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemDto> itemsById = items.stream()
+                .collect(Collectors.toMap(ItemDto::getId, Function.identity()));
+
+        for (ShortBookingDto booking : bookingRepository.findLastAndNextBookingsByItemIds(itemsById.keySet(), now)) {
+            ItemDto item = itemsById.get(booking.getItemId());
+
+            if (booking.getStart().isBefore(now)) {
+                if (item.getLastBooking() == null) {
+                    item.setLastBooking(booking);
+                }
+            } else if (item.getNextBooking() == null) {
+                item.setNextBooking(booking);
+            }
+        }
+
+        for (ItemDto item : items) {
+            if (item.getLastBooking() == null) {
+                item.setNextBooking(null);
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -4,9 +4,18 @@ import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.ShortBookingDto;
 import ru.practicum.shareit.core.exception.exceptions.BookingBadRequestException;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+
 @Component
 public class StartAndEndValidator {
+    private static final Duration CLOCK_TOLERANCE = Duration.ofMinutes(1);
+
     public void validate(ShortBookingDto dto) throws BookingBadRequestException {
+        if (dto.getStart() == null || dto.getEnd() == null) {
+            throw new BookingBadRequestException("Не указаны даты начала и окончания аренды.");
+        }
+
         if (dto.getEnd().isBefore(dto.getStart())) {
             throw new BookingBadRequestException("Конец срока аренды не может быть раньше старта.");
         }
@@ -15,4 +24,10 @@ public class StartAndEndValidator {
             throw new BookingBadRequestException("Конец срока аренды не может совпадать со стартом.");
         }
     }
+
+    public void validateNotInPast(ShortBookingDto dto, LocalDateTime now) throws BookingBadRequestException {
+        if (dto.getStart().isBefore(now.minus(CLOCK_TOLERANCE))) {
+            throw new BookingBadRequestException("Старт аренды не может быть в прошлом.");
+        }
+    }
 }
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.booking.timeline;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.ShortBookingDto;
+import ru.practicum.shareit.booking.dto.TimeSlot;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.core.exception.exceptions.BookingConflictException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class BookingTimelineIndex {
+    public static final List<Status> ACTIVE = List.of(Status.WAITING, Status.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+    private final Map<Long, ItemTimeline> timelines = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public BookingTimelineIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.timeline.enabled:true}") boolean enabled) {
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        long count = 0;
+        try (Stream<ShortBookingDto> stream = bookingRepository.streamActiveBookings(ACTIVE, LocalDateTime.now())) {
+            for (ShortBookingDto booking : (Iterable<ShortBookingDto>) stream::iterator) {
+                timeline(booking.getItemId()).add(booking.getStart(), booking.getEnd(), booking.getId());
+                count++;
+            }
+        }
+
+        ready = true;
+        log.info("Индекс бронирований построен, бронирований: {}", count);
+    }
+
+    public void reserve(Booking booking) {
+        long itemId = booking.getItem().getId();
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+
+        if (!ready && bookingRepository.existsOverlapping(itemId, start, end, booking.getId(), ACTIVE)) {
+            throw conflict(itemId);
+        }
+
+        if (!enabled) {
+            return;
+        }
+
+        ItemTimeline timeline = timeline(itemId);
+        synchronized (timeline) {
+            if (timeline.contains(start, booking.getId())) {
+                return;
+            }
+
+            timeline.prune(LocalDateTime.now());
+            if (ready && timeline.overlaps(start, end, booking.getId())) {
+                throw conflict(itemId);
+            }
+            timeline.add(start, end, booking.getId());
+        }
+
+        afterCompletion(false, () -> timeline.remove(start, booking.getId()));
+    }
+
+    public void checkAvailable(Booking booking) {
+        long itemId = booking.getItem().getId();
+        long bookingId = booking.getId() == null ? 0L : booking.getId();
+        boolean overlaps = ready
+                ? timeline(itemId).overlaps(booking.getStart(), booking.getEnd(), bookingId)
+                : bookingRepository.existsOverlapping(itemId, booking.getStart(), booking.getEnd(), bookingId, ACTIVE);
+
+        if (overlaps) {
+            throw conflict(itemId);
+        }
+    }
+
+    public void release(Booking booking) {
+        if (!enabled) {
+            return;
+        }
+
+        ItemTimeline timeline = timeline(booking.getItem().getId());
+        afterCompletion(true, () -> timeline.remove(booking.getStart(), booking.getId()));
+    }
+
+    public List<TimeSlot> busy(long itemId, LocalDateTime from, LocalDateTime to) {
+        if (ready) {
+            ItemTimeline timeline = timelines.get(itemId);
+            return timeline == null ? List.of() : timeline.busy(from, to);
+        }
+
+        ItemTimeline snapshot = new ItemTimeline();
+        for (ShortBookingDto booking : bookingRepository.findActiveIntervals(itemId, from, to, ACTIVE)) {
+            snapshot.add(booking.getStart(), booking.getEnd(), booking.getId());
+        }
+
+        return snapshot.busy(from, to);
+    }
+
+    public ItemTimeline timeline(long itemId) {
+        return timelines.computeIfAbsent(itemId, id -> new ItemTimeline());
+    }
+
+    private void afterCompletion(boolean committed, Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (committed) {
+                action.run();
+            }
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if ((status == STATUS_COMMITTED) == committed) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private BookingConflictException conflict(long itemId) {
+        return new BookingConflictException("Вещь с id " + itemId + " уже забронирована на это время.");
+    }
+}
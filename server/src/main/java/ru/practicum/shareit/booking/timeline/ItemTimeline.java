@@ -0,0 +1,175 @@
+package ru.practicum.shareit.booking.timeline;
+
+import ru.practicum.shareit.booking.dto.TimeSlot;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ItemTimeline {
+    private static final int INITIAL_CAPACITY = 4;
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private long[] starts = new long[INITIAL_CAPACITY];
+    private long[] ends = new long[INITIAL_CAPACITY];
+    // maxEnds[i] is the latest end among entries 0..i. Legacy rows may overlap each other, so the predecessor
+    // of a start alone does not bound what an interval can collide with; the running max does.
+    private long[] maxEnds = new long[INITIAL_CAPACITY];
+    private long[] bookingIds = new long[INITIAL_CAPACITY];
+    private int size;
+
+    public synchronized boolean overlaps(LocalDateTime start, LocalDateTime end, long bookingId) {
+        long startMicros = toMicros(start);
+        for (int index = position(toMicros(end), Long.MIN_VALUE) - 1; index >= 0 && maxEnds[index] > startMicros;
+             index--) {
+            if (ends[index] > startMicros && bookingIds[index] != bookingId) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public synchronized boolean contains(LocalDateTime start, long bookingId) {
+        return find(toMicros(start), bookingId) >= 0;
+    }
+
+    public synchronized void add(LocalDateTime start, LocalDateTime end, long bookingId) {
+        long startMicros = toMicros(start);
+        int index = position(startMicros, bookingId);
+
+        if (index >= size || starts[index] != startMicros || bookingIds[index] != bookingId) {
+            ensureCapacity();
+            shift(index, index + 1, size - index);
+            starts[index] = startMicros;
+            bookingIds[index] = bookingId;
+            size++;
+        }
+        ends[index] = toMicros(end);
+        updateMaxEnds(index);
+    }
+
+    public synchronized void remove(LocalDateTime start, long bookingId) {
+        int index = find(toMicros(start), bookingId);
+        if (index >= 0) {
+            shift(index + 1, index, size - index - 1);
+            size--;
+            updateMaxEnds(index);
+        }
+    }
+
+    public synchronized void prune(LocalDateTime now) {
+        long nowMicros = toMicros(now);
+        int expired = 0;
+        while (expired < size && maxEnds[expired] <= nowMicros) {
+            expired++;
+        }
+
+        if (expired > 0) {
+            shift(expired, 0, size - expired);
+            size -= expired;
+        }
+    }
+
+    public synchronized List<TimeSlot> busy(LocalDateTime from, LocalDateTime to) {
+        long fromMicros = toMicros(from);
+        long untilMicros = toMicros(to);
+        List<TimeSlot> result = new ArrayList<>();
+
+        int index = firstEndingAfter(fromMicros);
+        long busyStart = 0;
+        long busyEnd = Long.MIN_VALUE;
+        for (; index < size && starts[index] < untilMicros; index++) {
+            if (ends[index] <= fromMicros) {
+                continue;
+            }
+
+            if (starts[index] > busyEnd) {
+                if (busyEnd != Long.MIN_VALUE) {
+                    result.add(slot(busyStart, busyEnd, fromMicros, untilMicros));
+                }
+                busyStart = starts[index];
+            }
+            busyEnd = Math.max(busyEnd, ends[index]);
+        }
+
+        if (busyEnd != Long.MIN_VALUE) {
+            result.add(slot(busyStart, busyEnd, fromMicros, untilMicros));
+        }
+
+        return result;
+    }
+
+    private int find(long start, long bookingId) {
+        int index = position(start, bookingId);
+        return index < size && starts[index] == start && bookingIds[index] == bookingId ? index : -1;
+    }
+
+    private int position(long start, long bookingId) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] < start || starts[middle] == start && bookingIds[middle] < bookingId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int firstEndingAfter(long micros) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (maxEnds[middle] <= micros) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void updateMaxEnds(int from) {
+        long max = from > 0 ? maxEnds[from - 1] : Long.MIN_VALUE;
+        for (int index = from; index < size; index++) {
+            max = Math.max(max, ends[index]);
+            maxEnds[index] = max;
+        }
+    }
+
+    private void ensureCapacity() {
+        if (size == starts.length) {
+            int capacity = size * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            maxEnds = Arrays.copyOf(maxEnds, capacity);
+            bookingIds = Arrays.copyOf(bookingIds, capacity);
+        }
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(starts, from, starts, to, length);
+        System.arraycopy(ends, from, ends, to, length);
+        System.arraycopy(maxEnds, from, maxEnds, to, length);
+        System.arraycopy(bookingIds, from, bookingIds, to, length);
+    }
+
+    private static TimeSlot slot(long start, long end, long from, long to) {
+        return new TimeSlot(toDateTime(Math.max(start, from)), toDateTime(Math.min(end, to)));
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime toDateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1_000, ZoneOffset.UTC);
+    }
+}
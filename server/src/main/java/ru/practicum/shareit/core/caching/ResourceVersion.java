@@ -0,0 +1,42 @@
+package ru.practicum.shareit.core.caching;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+
+@Getter
+@AllArgsConstructor
+public class ResourceVersion {
+    private final String tag;
+    private final long lastModified;
+
+    public ResourceVersion forViewer(long userId) {
+        return new ResourceVersion(tag + "-" + userId, lastModified);
+    }
+
+    public String getEtag() {
+        return "W/\"" + tag + "\"";
+    }
+
+    public boolean isNotModified(HttpServletRequest request) {
+        return new ServletWebRequest(request).checkNotModified(getEtag(), lastModified);
+    }
+
+    public <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(getEtag())
+                .lastModified(lastModified)
+                .build();
+    }
+
+    public <T> ResponseEntity<T> ok(T body) {
+        return ResponseEntity.ok()
+                .eTag(getEtag())
+                .lastModified(lastModified)
+                .body(body);
+    }
+}
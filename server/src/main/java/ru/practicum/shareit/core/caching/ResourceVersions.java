@@ -0,0 +1,75 @@
+package ru.practicum.shareit.core.caching;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class ResourceVersions {
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+    public static final String REQUESTS = "requests";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Cache<String, ResourceVersion> versions;
+    private volatile long notModifiedBefore;
+
+    public ResourceVersions(@Value("${shareit.etag.maximum-size:100000}") long maximumSize) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public ResourceVersion current(String resource, long id) {
+        return versions.get(key(resource, id), key -> next(null));
+    }
+
+    public void changed(String resource, long id) {
+        String key = key(resource, id);
+        afterCommit(() -> versions.asMap().computeIfPresent(key, (ignored, previous) -> next(previous)));
+    }
+
+    public void changedAll() {
+        afterCommit(() -> {
+            notModifiedBefore = secondsNow() + 1_000;
+            versions.invalidateAll();
+        });
+    }
+
+    private ResourceVersion next(ResourceVersion previous) {
+        long lastModified = Math.max(secondsNow(), notModifiedBefore);
+        if (previous != null) {
+            lastModified = Math.max(lastModified, previous.getLastModified() + 1_000);
+        }
+
+        return new ResourceVersion(epoch + "-" + Long.toString(sequence.incrementAndGet(), 36), lastModified);
+    }
+
+    private static long secondsNow() {
+        return System.currentTimeMillis() / 1_000 * 1_000;
+    }
+
+    private static String key(String resource, long id) {
+        return resource + "/" + id;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.core.instance;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.BeanNameAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.instance-lock.enabled", havingValue = "true", matchIfMissing = true)
+public class SingleInstanceLock implements BeanPostProcessor, BeanFactoryAware, BeanNameAware, DisposableBean {
+    static final long LOCK_KEY = 0x5348415245495400L;
+
+    private ConfigurableBeanFactory beanFactory;
+    private String beanName;
+    private Connection connection;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = (ConfigurableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public void setBeanName(String beanName) {
+        this.beanName = beanName;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String dataSourceName) throws BeansException {
+        // Runs as soon as the DataSource exists, i.e. before the sql.init scripts (schema.sql starts with
+        // DROP TABLE) or the EntityManagerFactory can touch the database of an instance that is already running.
+        if (bean instanceof DataSource && connection == null) {
+            try {
+                acquire((DataSource) bean);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Не удалось получить блокировку единственного экземпляра сервера", e);
+            }
+            // Destroyed before the DataSource, so the lock is given back while its connection is still open.
+            beanFactory.registerDependentBean(dataSourceName, beanName);
+        }
+        return bean;
+    }
+
+    void acquire(DataSource dataSource) throws SQLException {
+        Connection candidate = dataSource.getConnection();
+        boolean locked = false;
+        try {
+            // ETag versions, the search index, the booking timeline and the user existence cache all live in
+            // this process, so writes through a second instance would never reach them.
+            locked = call(candidate, "select pg_try_advisory_lock(?)");
+        } finally {
+            if (!locked) {
+                candidate.close();
+            }
+        }
+
+        if (!locked) {
+            throw new IllegalStateException("С этой базой уже работает другой экземпляр сервера: " +
+                    "ETag-версии и индексы хранятся в памяти процесса, поэтому сервер запускается " +
+                    "только в одном экземпляре");
+        }
+
+        connection = candidate;
+        log.info("Получена блокировка единственного экземпляра сервера");
+    }
+
+    @Override
+    public void destroy() throws SQLException {
+        if (connection == null) {
+            return;
+        }
+
+        // A pooled connection outlives close(), and so would a session-level lock left on it.
+        try {
+            if (!connection.isClosed()) {
+                call(connection, "select pg_advisory_unlock(?)");
+            }
+        } finally {
+            connection.close();
+            connection = null;
+        }
+    }
+
+    private static boolean call(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, LOCK_KEY);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.core.pagination;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.core.exception.exceptions.PaginationBadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@UtilityClass
+public class Cursor {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String SEPARATOR = "|";
+
+    public static String encode(Object... keys) {
+        String raw = Arrays.stream(keys)
+            .map(String::valueOf)
+            .collect(Collectors.joining(SEPARATOR));
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static <T> T decode(String cursor, int size, Function<String[], T> parser) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] keys = raw.split("\\" + SEPARATOR, -1);
+            if (keys.length != size) {
+                throw new IllegalArgumentException(raw);
+            }
+
+            return parser.apply(keys);
+        } catch (RuntimeException e) {
+            throw new PaginationBadRequestException("Некорректный курсор: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.core.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+
+    public static <T> CursorPage<T> of(List<T> content, int size, Function<T, String> cursorOf) {
+        String nextCursor = null;
+        if (!content.isEmpty() && content.size() == size) {
+            nextCursor = cursorOf.apply(content.get(content.size() - 1));
+        }
+
+        return new CursorPage<>(content, nextCursor);
+    }
+
+    public <R> CursorPage<R> map(Function<List<T>, List<R>> mapper) {
+        return new CursorPage<>(mapper.apply(content), nextCursor);
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(Cursor.NEXT_CURSOR_HEADER, nextCursor);
+        }
+
+        return response.body(content);
+    }
+}
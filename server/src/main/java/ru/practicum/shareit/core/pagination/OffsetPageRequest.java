@@ -0,0 +1,33 @@
+package ru.practicum.shareit.core.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+public class OffsetPageRequest extends PageRequest {
+    private final long offset;
+
+    public OffsetPageRequest(long offset, int size) {
+        super((int) (offset / size), size, Sort.unsorted());
+        this.offset = offset;
+    }
+
+    public static Pageable of(long from, String cursor, int size) {
+        return cursor == null ? new OffsetPageRequest(from, size) : PageRequest.of(0, size);
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof OffsetPageRequest && super.equals(obj) && offset == ((OffsetPageRequest) obj).offset;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Long.hashCode(offset);
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.core.transaction;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.core.exception.exceptions.ConcurrentUpdateException;
+
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class ConflictRetry {
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+
+    public ConflictRetry(PlatformTransactionManager transactionManager,
+                         @Value("${shareit.retry.max-attempts:5}") int maxAttempts) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw new ConcurrentUpdateException("Данные были изменены другим запросом, повторите попытку.");
+                }
+                log.debug("Конфликт версий, попытка {} из {}", attempt, maxAttempts);
+            }
+        }
+    }
+}
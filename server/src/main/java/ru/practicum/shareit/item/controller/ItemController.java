@@ -2,13 +2,21 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.core.caching.ResourceVersion;
+import ru.practicum.shareit.core.caching.ResourceVersions;
+import ru.practicum.shareit.core.pagination.CursorPage;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import javax.servlet.http.HttpServletRequest;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping("/items")
@@ -16,6 +24,7 @@ import java.util.Collection;
 @Slf4j
 public class ItemController {
     private final ItemService itemService;
+    private final ResourceVersions versions;
 
     @PostMapping
     public ItemDto save(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestBody ItemDto dto) {
@@ -43,31 +52,53 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ItemDto findById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long itemId) {
+    public ResponseEntity<ItemDto> findById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @PathVariable Long itemId,
+                                            HttpServletRequest request) {
+        ResourceVersion version = versions.current(ResourceVersions.ITEMS, itemId).forViewer(userId);
+        if (version.isNotModified(request)) {
+            log.info("Item not modified: id - {}", itemId);
+            return version.notModified();
+        }
+
         ItemDto itemDto = itemService.findById(userId, itemId);
         log.info("Get item by id: {}", itemDto);
-        return itemDto;
+        return version.ok(itemDto);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @PathVariable Long itemId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime to) {
+        ItemAvailabilityDto availability = itemService.getAvailability(userId, itemId, from, to);
+        log.info("Availability of item {}: busy slots - {}", itemId, availability.getBusy().size());
+        return availability;
     }
 
     @GetMapping
-    public Collection<ItemDto> findAll(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                       @RequestParam(defaultValue = "0", required = false) Integer from,
-                                       @RequestParam(defaultValue = "10", required = false) Integer size) {
-        Collection<ItemDto> items = itemService.findAll(userId, from, size);
-        log.info("All items by user id: size - {}", items.size());
-        return items;
+    public ResponseEntity<List<ItemDto>> findAll(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                 @RequestParam(defaultValue = "0", required = false) Integer from,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "10", required = false) Integer size) {
+        CursorPage<ItemDto> items = itemService.findAll(userId, from, cursor, size);
+        log.info("All items by user id: size - {}", items.getContent().size());
+        return items.toResponseEntity();
     }
 
     @GetMapping("/search")
-    public Collection<ItemDto> search(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                      @RequestParam String text,
-                                      @RequestParam(defaultValue = "0", required = false) Integer from,
-                                      @RequestParam(defaultValue = "10", required = false) Integer size) {
+    public ResponseEntity<List<ItemDto>> search(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @RequestParam String text,
+                                                @RequestParam(defaultValue = "0", required = false) Integer from,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "10", required = false) Integer size) {
         if (text == null || text.isBlank()) {
-            return new ArrayList<>();
+            return ResponseEntity.ok(new ArrayList<>());
         }
-        Collection<ItemDto> items = itemService.search(userId, text, from, size);
-        log.info("{} found items", items.size());
-        return items;
+        CursorPage<ItemDto> items = itemService.search(userId, text, from, cursor, size);
+        log.info("{} found items", items.getContent().size());
+        return items.toResponseEntity();
     }
 }
\ No newline at end of file
@@ -0,0 +1,321 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.core.pagination.CursorPage;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class ItemTrigramIndex {
+    private static final int GRAM = 3;
+    private static final int RANK_SHIFT = 56;
+    private static final long ID_MASK = (1L << RANK_SHIFT) - 1;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongObjectMap<Document> documents = new LongObjectMap<>();
+    private final LongObjectMap<PostingList> postings = new LongObjectMap<>();
+    private volatile boolean ready;
+
+    public ItemTrigramIndex(ItemRepository itemRepository,
+                            @Value("${shareit.search.index.enabled:true}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        long count = 0;
+        try (Stream<ItemSearchDocument> stream = itemRepository.streamSearchDocuments()) {
+            for (ItemSearchDocument document : (Iterable<ItemSearchDocument>) stream::iterator) {
+                apply(document, false);
+                count++;
+            }
+        }
+
+        ready = true;
+        log.info("Поисковый индекс товаров построен, документов: {}", count);
+    }
+
+    public void index(Item item) {
+        if (!enabled) {
+            return;
+        }
+
+        ItemSearchDocument document = ItemSearchDocument.of(item);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(document, true);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(document, true);
+            }
+        });
+    }
+
+    public void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            Document removed = documents.remove(itemId);
+            if (removed != null) {
+                removePostings(removed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public CursorPage<Long> search(String text, int offset, SearchPosition after, int size) {
+        String query = SearchRank.normalize(text);
+        long[] hits;
+
+        lock.readLock().lock();
+        try {
+            hits = rankedHits(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int start = offset;
+        if (after != null) {
+            int found = Arrays.binarySearch(hits, pack(after.getRank(), after.getItemId()));
+            start = found >= 0 ? found + 1 : -found - 1;
+        }
+
+        int end = Math.min(hits.length, start + size);
+        List<Long> page = new ArrayList<>(Math.max(0, end - start));
+        for (int i = start; i < end; i++) {
+            page.add(hits[i]);
+        }
+
+        return CursorPage.of(page, size, last -> toPosition(last).toCursor())
+                .map(packed -> packed.stream()
+                        .map(hit -> hit & ID_MASK)
+                        .collect(Collectors.toList()));
+    }
+
+    private long[] rankedHits(String query) {
+        long[] candidates = candidates(query);
+        long[] hits = new long[candidates == null ? documents.size() : candidates.length];
+        int count = 0;
+
+        if (candidates == null) {
+            for (int slot = 0; slot < documents.capacity(); slot++) {
+                Document document = documents.valueAt(slot);
+                if (document != null) {
+                    count = verify(document, query, hits, count);
+                }
+            }
+        } else {
+            for (long id : candidates) {
+                Document document = documents.get(id);
+                if (document != null) {
+                    count = verify(document, query, hits, count);
+                }
+            }
+        }
+
+        hits = Arrays.copyOf(hits, count);
+        Arrays.sort(hits);
+        return hits;
+    }
+
+    private long[] candidates(String query) {
+        if (query.length() < GRAM) {
+            return null;
+        }
+
+        List<PostingList> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            PostingList list = postings.get(trigram(query, i));
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        PostingList smallest = lists.get(0);
+        long[] result = Arrays.copyOf(smallest.ids, smallest.size);
+        int count = result.length;
+        for (int i = 1; i < lists.size() && count > 0; i++) {
+            PostingList list = lists.get(i);
+            if (list == smallest) {
+                continue;
+            }
+
+            int kept = 0;
+            for (int j = 0; j < count; j++) {
+                if (list.contains(result[j])) {
+                    result[kept++] = result[j];
+                }
+            }
+            count = kept;
+        }
+
+        return Arrays.copyOf(result, count);
+    }
+
+    private int verify(Document document, String query, long[] hits, int count) {
+        if (!document.available || !(document.name.contains(query) || document.description.contains(query))) {
+            return count;
+        }
+
+        hits[count] = pack(SearchRank.of(document.name, query), document.id);
+        return count + 1;
+    }
+
+    private void apply(ItemSearchDocument source, boolean replace) {
+        Document document = new Document(source.getId(), SearchRank.normalize(source.getName()),
+                SearchRank.normalize(source.getDescription()), Boolean.TRUE.equals(source.getAvailable()));
+
+        lock.writeLock().lock();
+        try {
+            if (!replace && documents.get(document.id) != null) {
+                return;
+            }
+
+            Document previous = documents.put(document.id, document);
+            if (previous != null) {
+                removePostings(previous);
+            }
+            addPostings(document.id, document.name);
+            addPostings(document.id, document.description);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addPostings(long id, String value) {
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            long trigram = trigram(value, i);
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                list = new PostingList();
+                postings.put(trigram, list);
+            }
+            list.add(id);
+        }
+    }
+
+    private void removePostings(Document document) {
+        removePostings(document.id, document.name);
+        removePostings(document.id, document.description);
+    }
+
+    private void removePostings(long id, String value) {
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            long trigram = trigram(value, i);
+            PostingList list = postings.get(trigram);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    int trigramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long trigram(String value, int from) {
+        return ((long) value.charAt(from) << 32) | ((long) value.charAt(from + 1) << 16) | value.charAt(from + 2);
+    }
+
+    private static SearchPosition toPosition(long hit) {
+        return new SearchPosition((int) (hit >>> RANK_SHIFT), hit & ID_MASK);
+    }
+
+    private static long pack(int rank, long itemId) {
+        return ((long) rank << RANK_SHIFT) | itemId;
+    }
+
+    @AllArgsConstructor
+    private static class Document {
+        private final long id;
+        private final String name;
+        private final String description;
+        private final boolean available;
+    }
+
+    private static class PostingList {
+        private long[] ids = new long[2];
+        private int size;
+
+        private void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int found = Arrays.binarySearch(ids, 0, size, id);
+                if (found >= 0) {
+                    return;
+                }
+                insert(-found - 1, id);
+                return;
+            }
+
+            insert(size, id);
+        }
+
+        private void insert(int position, long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        private boolean remove(long id) {
+            int found = Arrays.binarySearch(ids, 0, size, id);
+            if (found < 0) {
+                return false;
+            }
+
+            System.arraycopy(ids, found + 1, ids, found, size - found - 1);
+            size--;
+            if (ids.length > 2 && size < ids.length / 4) {
+                ids = Arrays.copyOf(ids, Math.max(2, ids.length / 2));
+            }
+            return true;
+        }
+
+        private boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.core.pagination.Cursor;
+import ru.practicum.shareit.item.model.Item;
+
+@Getter
+@AllArgsConstructor
+public class SearchPosition {
+    private final int rank;
+    private final long itemId;
+
+    public static SearchPosition of(Item item, String text) {
+        return new SearchPosition(SearchRank.of(item, text), item.getId());
+    }
+
+    public static SearchPosition fromCursor(String cursor) {
+        return Cursor.decode(cursor, 2, keys -> new SearchPosition(Integer.parseInt(keys[0]), Long.parseLong(keys[1])));
+    }
+
+    public String toCursor() {
+        return Cursor.encode(rank, itemId);
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Locale;
+
+@UtilityClass
+public class SearchRank {
+    public static final int NAME_PREFIX = 0;
+    public static final int NAME = 1;
+    public static final int DESCRIPTION = 2;
+    public static final String LIKE_ESCAPE = "escape '!' ";
+    public static final String JPQL = "case " +
+        "when upper(i.name) like upper(concat(?1, '%')) " + LIKE_ESCAPE + "then 0 " +
+        "when upper(i.name) like upper(concat('%', ?1, '%')) " + LIKE_ESCAPE + "then 1 " +
+        "else 2 end";
+
+    public static int of(Item item, String text) {
+        return of(normalize(item.getName()), normalize(text));
+    }
+
+    public static int of(String normalizedName, String normalizedQuery) {
+        if (normalizedName.startsWith(normalizedQuery)) {
+            return NAME_PREFIX;
+        }
+
+        return normalizedName.contains(normalizedQuery) ? NAME : DESCRIPTION;
+    }
+
+    public static String escapeLike(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        return text.replace("!", "!!")
+            .replace("%", "!%")
+            .replace("_", "!_");
+    }
+
+    public static String normalize(String value) {
+        return value == null ? "" : value.toUpperCase(Locale.ROOT);
+    }
+}
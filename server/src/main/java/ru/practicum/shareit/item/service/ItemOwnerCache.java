@@ -0,0 +1,41 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Component
+public class ItemOwnerCache {
+    private final Cache<Long, Boolean> owners;
+
+    public ItemOwnerCache(@Value("${shareit.item.owner-cache.maximum-size:10000}") long maximumSize) {
+        this.owners = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public boolean contains(long userId) {
+        return owners.getIfPresent(userId) != null;
+    }
+
+    public void add(long userId) {
+        owners.put(userId, Boolean.TRUE);
+    }
+
+    public void invalidate(long userId) {
+        owners.invalidate(userId);
+
+        // A lookup that read the owner's items before the delete committed may have put the entry back.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    owners.invalidate(userId);
+                }
+            });
+        }
+    }
+}
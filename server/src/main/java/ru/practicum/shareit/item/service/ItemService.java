@@ -1,8 +1,10 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.core.pagination.CursorPage;
 import ru.practicum.shareit.item.dto.*;
 
-import java.util.Collection;
+import java.time.LocalDateTime;
+
 
 public interface ItemService {
     ItemDto save(Long userId, ItemDto dto);
@@ -11,9 +13,11 @@ public interface ItemService {
 
     ItemDto findById(Long userId, Long itemId);
 
-    Collection<ItemDto> findAll(Long userId, int from, int size);
+    CursorPage<ItemDto> findAll(Long userId, int from, String cursor, int size);
+
+    CursorPage<ItemDto> search(Long userId, String text, int from, String cursor, int size);
 
-    Collection<ItemDto> search(Long userId, String text, int from, int size);
+    ItemAvailabilityDto getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to);
 
     CommentDto saveComment(Long userId, Long itemId, CommentDto dto);
 }
\ No newline at end of file
@@ -2,16 +2,25 @@ package ru.practicum.shareit.item.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.TimeSlot;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.timeline.BookingTimelineIndex;
+import ru.practicum.shareit.core.caching.ResourceVersions;
+import ru.practicum.shareit.core.exception.exceptions.ItemBadRequestException;
 import ru.practicum.shareit.core.exception.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.core.exception.exceptions.UserNotFoundException;
+import ru.practicum.shareit.core.pagination.Cursor;
+import ru.practicum.shareit.core.pagination.CursorPage;
+import ru.practicum.shareit.core.pagination.OffsetPageRequest;
+import ru.practicum.shareit.core.transaction.ConflictRetry;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemTrigramIndex;
+import ru.practicum.shareit.item.search.SearchPosition;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -22,8 +31,9 @@ import ru.practicum.shareit.user.service.UserServiceImpl;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.item.dto.CommentMapper.toComment;
@@ -38,15 +48,28 @@ public class ItemServiceImpl implements ItemService {
     private final UserServiceImpl userService;
     private final BookingServiceImpl bookingService;
     private final ItemRequestServiceImpl requestService;
+    private final ItemTrigramIndex searchIndex;
+    private final ConflictRetry conflictRetry;
+    private final BookingTimelineIndex timelineIndex;
+    private final ResourceVersions versions;
+    private final ItemOwnerCache ownerCache;
 
     @Autowired
     public ItemServiceImpl(ItemRepository itemRepository, CommentRepository commentRepository, UserServiceImpl userService,
-                           @Lazy BookingServiceImpl bookingService, @Lazy ItemRequestServiceImpl requestService) {
+                           @Lazy BookingServiceImpl bookingService, @Lazy ItemRequestServiceImpl requestService,
+                           ItemTrigramIndex searchIndex, ConflictRetry conflictRetry,
+                           BookingTimelineIndex timelineIndex, ResourceVersions versions,
+                           ItemOwnerCache ownerCache) {
         this.itemRepository = itemRepository;
         this.commentRepository = commentRepository;
         this.userService = userService;
         this.bookingService = bookingService;
         this.requestService = requestService;
+        this.searchIndex = searchIndex;
+        this.conflictRetry = conflictRetry;
+        this.timelineIndex = timelineIndex;
+        this.versions = versions;
+        this.ownerCache = ownerCache;
     }
 
     @Transactional
@@ -58,31 +81,38 @@ public class ItemServiceImpl implements ItemService {
         item.setOwner(userId);
         setRequestWhenCreateItem(item, dto);
         item = itemRepository.save(item);
+        ownerCache.add(userId);
+        searchIndex.index(item);
+        requestChanged(item);
 
         return toItemDto(item);
     }
 
-    @Transactional
     @Override
     public ItemDto update(Long userId, Long itemId, ItemDto dto) {
-        Item item = getExistingItem(itemId);
-        if (!item.getOwner().equals(userId)) {
-            throw new UserNotFoundException("Id пользователя не совпадает.");
-        }
-
-        updateItemProperties(item, dto);
-        item = itemRepository.save(item);
-
-        return fillItemWithCommentsAndBookings(item);
+        return conflictRetry.execute(() -> {
+            Item item = getExistingItem(itemId);
+            if (!item.getOwner().equals(userId)) {
+                throw new UserNotFoundException("Id пользователя не совпадает.");
+            }
+
+            updateItemProperties(item, dto);
+            item = itemRepository.save(item);
+            searchIndex.index(item);
+            versions.changed(ResourceVersions.ITEMS, itemId);
+            requestChanged(item);
+
+            return fillItemsWithCommentsAndBookings(List.of(item)).get(0);
+        });
     }
 
     @Transactional(readOnly = true)
     @Override
     public ItemDto findById(Long userId, Long itemId) {
-        userService.getExistingUser(userId);
+        userService.checkUserExists(userId);
         Item item = getExistingItem(itemId);
         ItemDto result = toItemDto(item);
-        fillItemWithComments(result, itemId);
+        fillItemsWithComments(List.of(result));
 
         if (item.getOwner().equals(userId)) {
             bookingService.fillItemWithBookings(result);
@@ -94,28 +124,52 @@ public class ItemServiceImpl implements ItemService {
 
     @Transactional(readOnly = true)
     @Override
-    public Collection<ItemDto> findAll(Long userId, int from, int size) {
-        Pageable pageable = PageRequest.of(from / size, size);
-        List<ItemDto> result = new ArrayList<>();
-        List<Item> items = itemRepository.findByOwner(userId, pageable);
-        items.sort(Comparator.comparing(Item::getId));
+    public CursorPage<ItemDto> findAll(Long userId, int from, String cursor, int size) {
+        Long afterId = cursor == null ? 0L : Cursor.decode(cursor, 1, keys -> Long.parseLong(keys[0]));
+        List<Item> items = itemRepository.findByOwner(userId, afterId, OffsetPageRequest.of(from, cursor, size));
 
-        for (Item item : items) {
-            result.add(fillItemWithCommentsAndBookings(item));
-        }
-
-        return result;
+        return CursorPage.of(items, size, item -> Cursor.encode(item.getId()))
+                .map(this::fillItemsWithCommentsAndBookings);
     }
 
     @Transactional(readOnly = true)
     @Override
-    public Collection<ItemDto> search(Long userId, String text, int from, int size) {
-        Pageable pageable = PageRequest.of(from / size, size);
+    public CursorPage<ItemDto> search(Long userId, String text, int from, String cursor, int size) {
+        SearchPosition after = cursor == null ? null : SearchPosition.fromCursor(cursor);
+
+        if (searchIndex.isReady()) {
+            return searchIndex.search(text, from, after, size)
+                    .map(ids -> fillItemsWithCommentsAndBookings(findAllInOrder(ids)));
+        }
+
+        Pageable pageable = OffsetPageRequest.of(from, cursor, size);
+        List<Item> items;
+        if (after == null) {
+            items = itemRepository.search(text, pageable);
+        } else {
+            items = itemRepository.searchAfter(text, after.getRank(), after.getItemId(), pageable);
+        }
 
-        return itemRepository.search(text, pageable)
+        return CursorPage.of(items, size, item -> SearchPosition.of(item, text).toCursor())
+                .map(this::fillItemsWithCommentsAndBookings);
+    }
+
+    private List<Item> findAllInOrder(List<Long> ids) {
+        Map<Long, Item> itemsById = itemRepository.findAllById(ids)
                 .stream()
-                .map(this::fillItemWithCommentsAndBookings)
-                .collect(Collectors.toList());
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Item> result = new ArrayList<>(ids.size());
+
+        for (Long id : ids) {
+            Item item = itemsById.get(id);
+            if (item == null) {
+                searchIndex.remove(id);
+            } else {
+                result.add(item);
+            }
+        }
+
+        return result;
     }
 
     private void setRequestWhenCreateItem(Item item, ItemDto dto) {
@@ -126,6 +180,12 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
+    private void requestChanged(Item item) {
+        if (item.getRequest() != null) {
+            versions.changed(ResourceVersions.REQUESTS, item.getRequest().getId());
+        }
+    }
+
     private void updateItemProperties(Item item, ItemDto dto) {
         if (dto.getAvailable() != null) {
             item.setAvailable(dto.getAvailable());
@@ -140,14 +200,55 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    private ItemDto fillItemWithCommentsAndBookings(Item item) {
-        ItemDto result = toItemDto(item);
-        fillItemWithComments(result, item.getId());
-        bookingService.fillItemWithBookings(result);
+    private List<ItemDto> fillItemsWithCommentsAndBookings(List<Item> items) {
+        List<ItemDto> result = items.stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+
+        fillItemsWithComments(result);
+        bookingService.fillItemsWithBookings(result);
 
         return result;
     }
 
+    @Override
+    public ItemAvailabilityDto getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ItemBadRequestException("Начало периода должно быть раньше его окончания.");
+        }
+
+        userService.checkUserExists(userId);
+        if (!itemRepository.existsById(itemId)) {
+            throw new ItemNotFoundException("Товар с id " + itemId + " не найден.");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (from.isBefore(now)) {
+            from = to.isAfter(now) ? now : to;
+        }
+
+        List<TimeSlot> busy = from.isBefore(to) ? timelineIndex.busy(itemId, from, to) : List.of();
+        List<TimeSlot> free = new ArrayList<>(busy.size() + 1);
+        LocalDateTime freeStart = from;
+        for (TimeSlot slot : busy) {
+            if (freeStart.isBefore(slot.getStart())) {
+                free.add(new TimeSlot(freeStart, slot.getStart()));
+            }
+            freeStart = slot.getEnd();
+        }
+        if (freeStart.isBefore(to)) {
+            free.add(new TimeSlot(freeStart, to));
+        }
+
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .busy(busy)
+                .free(free)
+                .build();
+    }
+
     @Transactional
     @Override
     public CommentDto saveComment(Long userId, Long itemId, CommentDto dto) {
@@ -159,32 +260,61 @@ public class ItemServiceImpl implements ItemService {
         comment.setCreated(LocalDateTime.now());
         comment.setItem(item);
         comment.setAuthor(user);
+        comment = commentRepository.save(comment);
+        versions.changed(ResourceVersions.ITEMS, itemId);
 
-        return toCommentDto(commentRepository.save(comment));
+        return toCommentDto(comment);
     }
 
-    public void fillItemWithComments(ItemDto result, Long itemId) {
-        List<Comment> comments = commentRepository.findAllByItemId(itemId);
-        if (!comments.isEmpty()) {
-            result.setComments(comments.stream()
-                    .map(CommentMapper::toCommentDto)
-                    .collect(Collectors.toList()));
-        } else {
-            result.setComments(new ArrayList<>());
+    public void fillItemsWithComments(Collection<ItemDto> items) {
+        if (items.isEmpty()) {
+            return;
         }
-    }
 
-    public List<ItemDtoInRequest> getItemsByRequestId(long id) {
-        return itemRepository.findByRequestId(id)
-                .stream().map(ItemMapper::toItemDtoInRequest)
+        List<Long> itemIds = items.stream()
+                .map(ItemDto::getId)
                 .collect(Collectors.toList());
+        Map<Long, List<CommentDto>> commentsByItemId = commentRepository.findAllByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::toCommentDto, Collectors.toList())));
+
+        for (ItemDto item : items) {
+            item.setComments(commentsByItemId.getOrDefault(item.getId(), new ArrayList<>()));
+        }
     }
 
-    public boolean hasUserZeroItems(long userId) {
-        return itemRepository.findAll()
+    public Map<Long, List<ItemDtoInRequest>> getItemsByRequestIds(Collection<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return itemRepository.findByRequestIdIn(requestIds)
                 .stream()
-                .filter(item -> item.getOwner().equals(userId))
-                .findAny().isEmpty();
+                .map(ItemMapper::toItemDtoInRequest)
+                .collect(Collectors.groupingBy(ItemDtoInRequest::getRequestId));
+    }
+
+    public boolean hasUserZeroItems(long userId) {
+        if (ownerCache.contains(userId)) {
+            return false;
+        }
+
+        if (itemRepository.existsByOwner(userId)) {
+            ownerCache.add(userId);
+            return false;
+        }
+
+        return true;
+    }
+
+    public Map<Long, Item> getExistingItems(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        return itemRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
     }
 
     public Item getExistingItem(long id) {
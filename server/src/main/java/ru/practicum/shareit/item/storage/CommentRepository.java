@@ -1,10 +1,20 @@
 package ru.practicum.shareit.item.storage;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItemId(Long itemId);
+    @EntityGraph(Comment.WITH_AUTHOR_GRAPH)
+    @Query("select c from Comment c " +
+        "where c.item.id in ?1")
+    List<Comment> findAllByItemIdIn(Collection<Long> itemIds);
+
+    @Query("select distinct c.item.id from Comment c " +
+        "where c.author.id = ?1")
+    List<Long> findItemIdsByAuthorId(long authorId);
 }
\ No newline at end of file
@@ -3,20 +3,57 @@ package ru.practicum.shareit.item.storage;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchDocument;
+import ru.practicum.shareit.item.search.SearchRank;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String SEARCH = "select i from Item i " +
+        "where i.available = true " +
+        "and (upper(i.name) like upper(concat('%', ?1, '%')) " + SearchRank.LIKE_ESCAPE +
+        "or upper(i.description) like upper(concat('%', ?1, '%')) " + SearchRank.LIKE_ESCAPE + ") ";
+
+    default List<Item> search(String text, Pageable pageable) {
+        return searchByPattern(SearchRank.escapeLike(text), pageable);
+    }
+
+    default List<Item> searchAfter(String text, int rank, Long itemId, Pageable pageable) {
+        return searchByPatternAfter(SearchRank.escapeLike(text), rank, itemId, pageable);
+    }
+
+    @Query(SEARCH +
+        "order by " + SearchRank.JPQL + ", i.id")
+    List<Item> searchByPattern(String pattern, Pageable pageable);
+
+    @Query(SEARCH +
+        "and (" + SearchRank.JPQL + " > ?2 or (" + SearchRank.JPQL + " = ?2 and i.id > ?3)) " +
+        "order by " + SearchRank.JPQL + ", i.id")
+    List<Item> searchByPatternAfter(String pattern, int rank, Long itemId, Pageable pageable);
+
     @Query("select i from Item i " +
-        "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-        " or upper(i.description) like upper(concat('%', ?1, '%')) and i.available = true")
-    List<Item> search(String text, Pageable pageable);
+        "where i.request.id in ?1")
+    List<Item> findByRequestIdIn(Collection<Long> requestIds);
 
-    List<Item> findByRequestId(Long requestId);
+    @Query("select i from Item i " +
+        "where i.owner = ?1 " +
+        "and i.id > ?2 " +
+        "order by i.id")
+    List<Item> findByOwner(Long userId, Long afterId, Pageable pageable);
 
-    List<Item> findByOwner(Long userId, Pageable pageable);
+    boolean existsByOwner(Long userId);
 
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new ru.practicum.shareit.item.search.ItemSearchDocument(i.id, i.name, i.description, i.available) " +
+        "from Item i")
+    Stream<ItemSearchDocument> streamSearchDocuments();
 }
\ No newline at end of file
@@ -2,11 +2,17 @@ package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.core.caching.ResourceVersion;
+import ru.practicum.shareit.core.caching.ResourceVersions;
+import ru.practicum.shareit.core.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
+import javax.servlet.http.HttpServletRequest;
 import java.util.Collection;
+import java.util.List;
 
 @RestController
 @RequestMapping("/requests")
@@ -14,6 +20,7 @@ import java.util.Collection;
 @Slf4j
 public class ItemRequestController {
     private final ItemRequestService requestService;
+    private final ResourceVersions versions;
 
     @PostMapping
     public ItemRequestDto save(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestBody ItemRequestDto dto) {
@@ -23,10 +30,18 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ItemRequestDto findById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long requestId) {
+    public ResponseEntity<ItemRequestDto> findById(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @PathVariable Long requestId,
+                                                   HttpServletRequest request) {
+        ResourceVersion version = versions.current(ResourceVersions.REQUESTS, requestId);
+        if (version.isNotModified(request)) {
+            log.info("Item request not modified: id - {}", requestId);
+            return version.notModified();
+        }
+
         ItemRequestDto itemRequestDto = requestService.findById(userId, requestId);
         log.info("Find by id - {} item request - {} ", requestId, itemRequestDto);
-        return itemRequestDto;
+        return version.ok(itemRequestDto);
     }
 
     @GetMapping
@@ -37,11 +52,12 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public Collection<ItemRequestDto> findAllFromOtherUsers(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                            @RequestParam(defaultValue = "0", required = false) Integer from,
-                                                            @RequestParam(defaultValue = "10", required = false) Integer size) {
-        Collection<ItemRequestDto> itemRequestDtos = requestService.findAllFromOtherUsers(userId, from, size);
-        log.info("Find all items request from user id - {}: size - {}", userId, itemRequestDtos);
-        return itemRequestDtos;
+    public ResponseEntity<List<ItemRequestDto>> findAllFromOtherUsers(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                      @RequestParam(defaultValue = "0", required = false) Integer from,
+                                                                      @RequestParam(required = false) String cursor,
+                                                                      @RequestParam(defaultValue = "10", required = false) Integer size) {
+        CursorPage<ItemRequestDto> itemRequestDtos = requestService.findAllFromOtherUsers(userId, from, cursor, size);
+        log.info("Find all items request from user id - {}: size - {}", userId, itemRequestDtos.getContent().size());
+        return itemRequestDtos.toResponseEntity();
     }
 }
\ No newline at end of file
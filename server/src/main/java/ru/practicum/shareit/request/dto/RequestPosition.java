@@ -0,0 +1,29 @@
+package ru.practicum.shareit.request.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.core.pagination.Cursor;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class RequestPosition {
+    public static final RequestPosition NEWEST = new RequestPosition(LocalDateTime.of(9999, 12, 31, 23, 59), Long.MAX_VALUE);
+
+    private final LocalDateTime created;
+    private final long requestId;
+
+    public static RequestPosition of(ItemRequest request) {
+        return new RequestPosition(request.getCreated(), request.getId());
+    }
+
+    public static RequestPosition fromCursor(String cursor) {
+        return Cursor.decode(cursor, 2, keys -> new RequestPosition(LocalDateTime.parse(keys[0]), Long.parseLong(keys[1])));
+    }
+
+    public String toCursor() {
+        return Cursor.encode(created, requestId);
+    }
+}
@@ -3,15 +3,23 @@ package ru.practicum.shareit.request.repository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    @Query("select r from ItemRequest r " +
+        "where r.requester.id = ?1")
     List<ItemRequest> findByRequesterId(Long userId, Sort sort);
 
-    List<ItemRequest> findByRequesterIdIsNot(Long userId, Pageable pageable);
-
+    @Query("select r from ItemRequest r " +
+        "where r.requester.id <> ?1 " +
+        "and r.created <= ?2 " +
+        "and (r.created < ?2 or (r.created = ?2 and r.id < ?3)) " +
+        "order by r.created desc, r.id desc")
+    List<ItemRequest> findByRequesterIdIsNot(Long userId, LocalDateTime afterCreated, Long afterId, Pageable pageable);
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.core.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Collection;
@@ -11,5 +12,5 @@ public interface ItemRequestService {
 
     Collection<ItemRequestDto> findAll(Long userId);
 
-    Collection<ItemRequestDto> findAllFromOtherUsers(Long userId, Integer from, Integer size);
+    CursorPage<ItemRequestDto> findAllFromOtherUsers(Long userId, Integer from, String cursor, Integer size);
 }
\ No newline at end of file
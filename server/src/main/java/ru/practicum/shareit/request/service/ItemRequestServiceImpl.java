@@ -1,16 +1,17 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.core.exception.exceptions.RequestNotFoundException;
+import ru.practicum.shareit.core.pagination.CursorPage;
+import ru.practicum.shareit.core.pagination.OffsetPageRequest;
 import ru.practicum.shareit.item.dto.ItemDtoInRequest;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestMapper;
+import ru.practicum.shareit.request.dto.RequestPosition;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
@@ -20,6 +21,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.request.dto.RequestMapper.toRequest;
@@ -49,10 +51,10 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional(readOnly = true)
     @Override
     public ItemRequestDto findById(Long userId, Long requestId) {
-        userService.getExistingUser(userId);
+        userService.checkUserExists(userId);
         ItemRequest request = getExistingRequest(requestId);
         ItemRequestDto result = toRequestDto(request);
-        fillRequestsWithItems(result);
+        fillRequestsWithItems(List.of(result));
 
         return result;
     }
@@ -60,7 +62,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Transactional(readOnly = true)
     @Override
     public Collection<ItemRequestDto> findAll(Long userId) {
-        userService.getExistingUser(userId);
+        userService.checkUserExists(userId);
         List<ItemRequest> requests = requestRepository.findByRequesterId(userId, SORT);
 
         return mapListToDtoList(requests);
@@ -68,33 +70,33 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Transactional(readOnly = true)
     @Override
-    public Collection<ItemRequestDto> findAllFromOtherUsers(Long userId, Integer from, Integer size) {
-        userService.getExistingUser(userId);
-        Pageable pageable = PageRequest.of(from / size, size, SORT);
-        List<ItemRequest> requests = requestRepository.findByRequesterIdIsNot(userId, pageable);
-
-        return mapListToDtoList(requests);
+    public CursorPage<ItemRequestDto> findAllFromOtherUsers(Long userId, Integer from, String cursor, Integer size) {
+        userService.checkUserExists(userId);
+        RequestPosition after = cursor == null ? RequestPosition.NEWEST : RequestPosition.fromCursor(cursor);
+        List<ItemRequest> requests = requestRepository.findByRequesterIdIsNot(userId, after.getCreated(),
+                after.getRequestId(), OffsetPageRequest.of(from, cursor, size));
+
+        return CursorPage.of(requests, size, request -> RequestPosition.of(request).toCursor())
+                .map(this::mapListToDtoList);
     }
 
     private List<ItemRequestDto> mapListToDtoList(List<ItemRequest> requests) {
         List<ItemRequestDto> result = requests.stream()
             .map(RequestMapper::toRequestDto)
             .collect(Collectors.toList());
-
-        for (ItemRequestDto request : result) {
-            fillRequestsWithItems(request);
-        }
+        fillRequestsWithItems(result);
 
         return result;
     }
 
-    private void fillRequestsWithItems(ItemRequestDto request) {
-        List<ItemDtoInRequest> items = itemService.getItemsByRequestId(request.getId());
+    private void fillRequestsWithItems(Collection<ItemRequestDto> requests) {
+        List<Long> requestIds = requests.stream()
+            .map(ItemRequestDto::getId)
+            .collect(Collectors.toList());
+        Map<Long, List<ItemDtoInRequest>> itemsByRequestId = itemService.getItemsByRequestIds(requestIds);
 
-        if (!items.isEmpty()) {
-            request.setItems(items);
-        } else {
-            request.setItems(new ArrayList<>());
+        for (ItemRequestDto request : requests) {
+            request.setItems(itemsByRequestId.getOrDefault(request.getId(), new ArrayList<>()));
         }
     }
 
@@ -2,10 +2,14 @@ package ru.practicum.shareit.user.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.core.caching.ResourceVersion;
+import ru.practicum.shareit.core.caching.ResourceVersions;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.servlet.http.HttpServletRequest;
 import java.util.Collection;
 
 @RestController
@@ -14,6 +18,7 @@ import java.util.Collection;
 @Slf4j
 public class UserController {
     private final UserService userService;
+    private final ResourceVersions versions;
 
     @GetMapping
     public Collection<UserDto> findAll() {
@@ -23,10 +28,16 @@ public class UserController {
     }
 
     @GetMapping("/{id}")
-    public UserDto findById(@PathVariable Long id) {
+    public ResponseEntity<UserDto> findById(@PathVariable Long id, HttpServletRequest request) {
+        ResourceVersion version = versions.current(ResourceVersions.USERS, id);
+        if (version.isNotModified(request)) {
+            log.info("User not modified: id - {}", id);
+            return version.notModified();
+        }
+
         UserDto userDto = userService.findById(id);
         log.info("Find user by id - {}: {}", id, userDto);
-        return userDto;
+        return version.ok(userDto);
     }
 
     @PostMapping
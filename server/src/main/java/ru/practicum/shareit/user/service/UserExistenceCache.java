@@ -0,0 +1,63 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class UserExistenceCache {
+    private final Cache<Long, Boolean> users;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public UserExistenceCache(@Value("${shareit.user.cache.maximum-size:10000}") long maximumSize,
+                              @Value("${shareit.user.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public boolean contains(long userId) {
+        return users.getIfPresent(userId) != null;
+    }
+
+    public long generation() {
+        return invalidations.get();
+    }
+
+    public void add(long userId, long generation) {
+        if (invalidations.get() != generation) {
+            return;
+        }
+
+        users.put(userId, Boolean.TRUE);
+        // An invalidation that raced the put above may have run before it: drop the entry again.
+        if (invalidations.get() != generation) {
+            users.invalidate(userId);
+        }
+    }
+
+    public void invalidate(long userId) {
+        evict(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(userId);
+                }
+            });
+        }
+    }
+
+    private void evict(long userId) {
+        invalidations.incrementAndGet();
+        users.invalidate(userId);
+    }
+}
@@ -3,13 +3,17 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.core.caching.ResourceVersions;
 import ru.practicum.shareit.core.exception.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.service.ItemOwnerCache;
+import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.Collection;
+import java.util.Objects;
 
 import static java.util.stream.Collectors.toList;
 import static ru.practicum.shareit.user.dto.UserMapper.toUser;
@@ -19,6 +23,10 @@ import static ru.practicum.shareit.user.dto.UserMapper.toUserDto;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserExistenceCache existenceCache;
+    private final CommentRepository commentRepository;
+    private final ItemOwnerCache ownerCache;
+    private final ResourceVersions versions;
 
     @Transactional(readOnly = true)
     @Override
@@ -45,9 +53,17 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserDto update(UserDto dto, Long userId) {
         User updated = getExistingUser(userId);
+        String oldName = updated.getName();
         updateName(updated, dto.getName());
         updateEmail(updated, dto.getEmail());
         userRepository.save(updated);
+        existenceCache.invalidate(userId);
+        versions.changed(ResourceVersions.USERS, userId);
+
+        if (!Objects.equals(updated.getName(), oldName)) {
+            commentRepository.findItemIdsByAuthorId(userId)
+                    .forEach(itemId -> versions.changed(ResourceVersions.ITEMS, itemId));
+        }
 
         return toUserDto(updated);
     }
@@ -57,6 +73,9 @@ public class UserServiceImpl implements UserService {
     public void delete(Long id) {
         getExistingUser(id);
         userRepository.deleteById(id);
+        existenceCache.invalidate(id);
+        ownerCache.invalidate(id);
+        versions.changedAll();
     }
 
     private void updateName(User user, String newName) {
@@ -66,9 +85,25 @@ public class UserServiceImpl implements UserService {
     }
 
     public User getExistingUser(long id) {
-        return userRepository.findById(id).orElseThrow(
+        long generation = existenceCache.generation();
+        User user = userRepository.findById(id).orElseThrow(
                 () -> new UserNotFoundException("Пользователь с id " + id + " не найден.")
         );
+        existenceCache.add(id, generation);
+
+        return user;
+    }
+
+    public void checkUserExists(long id) {
+        if (existenceCache.contains(id)) {
+            return;
+        }
+
+        long generation = existenceCache.generation();
+        if (!userRepository.existsById(id)) {
+            throw new UserNotFoundException("Пользователь с id " + id + " не найден.");
+        }
+        existenceCache.add(id, generation);
     }
 
     private void updateEmail(User user, String newEmail) {
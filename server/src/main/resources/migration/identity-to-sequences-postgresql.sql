@@ -0,0 +1,30 @@
+-- Одноразовый перевод существующей базы PostgreSQL с IDENTITY на последовательности с шагом 50.
+-- Последовательность выставляется на max(id) + 50: пул Hibernate выдает ключи из диапазона (n - 50, n].
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE users ALTER COLUMN user_id DROP IDENTITY IF EXISTS;
+SELECT setval('users_seq', COALESCE((SELECT max(user_id) FROM users), 0) + 50, false);
+ALTER TABLE users ALTER COLUMN user_id SET DEFAULT nextval('users_seq');
+
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE items ALTER COLUMN item_id DROP IDENTITY IF EXISTS;
+SELECT setval('items_seq', COALESCE((SELECT max(item_id) FROM items), 0) + 50, false);
+ALTER TABLE items ALTER COLUMN item_id SET DEFAULT nextval('items_seq');
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE comments ALTER COLUMN comment_id DROP IDENTITY IF EXISTS;
+SELECT setval('comments_seq', COALESCE((SELECT max(comment_id) FROM comments), 0) + 50, false);
+ALTER TABLE comments ALTER COLUMN comment_id SET DEFAULT nextval('comments_seq');
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE bookings ALTER COLUMN booking_id DROP IDENTITY IF EXISTS;
+SELECT setval('bookings_seq', COALESCE((SELECT max(booking_id) FROM bookings), 0) + 50, false);
+ALTER TABLE bookings ALTER COLUMN booking_id SET DEFAULT nextval('bookings_seq');
+
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE requests ALTER COLUMN request_id DROP IDENTITY IF EXISTS;
+SELECT setval('requests_seq', COALESCE((SELECT max(request_id) FROM requests), 0) + 50, false);
+ALTER TABLE requests ALTER COLUMN request_id SET DEFAULT nextval('requests_seq');
+
+COMMIT;
@@ -3,9 +3,20 @@ DROP TABLE IF EXISTS items CASCADE;
 DROP TABLE IF EXISTS comments CASCADE;
 DROP TABLE IF EXISTS bookings CASCADE;
 DROP TABLE IF EXISTS requests CASCADE;
+DROP SEQUENCE IF EXISTS users_seq;
+DROP SEQUENCE IF EXISTS items_seq;
+DROP SEQUENCE IF EXISTS comments_seq;
+DROP SEQUENCE IF EXISTS bookings_seq;
+DROP SEQUENCE IF EXISTS requests_seq;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS users (
-                                     user_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+                                     user_id BIGINT NOT NULL,
                                      name VARCHAR(255) NOT NULL,
     email VARCHAR(50) NOT NULL,
     CONSTRAINT pk_user PRIMARY KEY (user_id),
@@ -13,27 +24,30 @@ CREATE TABLE IF NOT EXISTS users (
     );
 
 CREATE TABLE IF NOT EXISTS items (
-                                     item_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+                                     item_id BIGINT NOT NULL,
                                      name VARCHAR(255),
     description VARCHAR(512),
     is_available BOOLEAN NOT NULL,
     owner_id BIGINT NOT NULL,
     request_id BIGINT,
+    version BIGINT DEFAULT 0 NOT NULL,
     CONSTRAINT pk_item PRIMARY KEY (item_id)
     );
 
 CREATE TABLE IF NOT EXISTS bookings (
-                                        booking_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+                                        booking_id BIGINT NOT NULL,
                                         start_date TIMESTAMP WITHOUT TIME ZONE,
                                         end_date TIMESTAMP WITHOUT TIME ZONE,
                                         item_id BIGINT,
                                         booker_id BIGINT,
                                         status VARCHAR(8),
+                                        phase VARCHAR(7),
+    version BIGINT DEFAULT 0 NOT NULL,
     CONSTRAINT pk_booking PRIMARY KEY (booking_id)
     );
 
 CREATE TABLE IF NOT EXISTS requests (
-                                        request_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+                                        request_id BIGINT NOT NULL,
                                         description VARCHAR(512),
     requester_id BIGINT,
     created TIMESTAMP WITHOUT TIME ZONE,
@@ -41,7 +55,7 @@ CREATE TABLE IF NOT EXISTS requests (
     );
 
 CREATE TABLE IF NOT EXISTS comments (
-                                        comment_id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+                                        comment_id BIGINT NOT NULL,
                                         text VARCHAR(1024) NOT NULL,
     item_id BIGINT NOT NULL,
     author_id BIGINT NOT NULL,
@@ -61,4 +75,20 @@ ALTER TABLE requests ADD CONSTRAINT fk_requests_users FOREIGN KEY (requester_id)
 
 ALTER TABLE comments ADD CONSTRAINT fk_comments_items FOREIGN KEY (item_id) REFERENCES items (item_id) ON DELETE CASCADE;
 
-ALTER TABLE comments ADD CONSTRAINT fk_comments_users FOREIGN KEY (author_id) REFERENCES users (user_id) ON DELETE CASCADE;
\ No newline at end of file
+ALTER TABLE comments ADD CONSTRAINT fk_comments_users FOREIGN KEY (author_id) REFERENCES users (user_id) ON DELETE CASCADE;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_start_date ON bookings (item_id, start_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id_start_date_id ON bookings (booker_id, start_date DESC, booking_id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_id_phase_start_date_id ON bookings (booker_id, phase, start_date DESC, booking_id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_id_phase_start_date_id ON bookings (item_id, phase, start_date, booking_id);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner_id_item_id ON items (owner_id, item_id);
+
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_id ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS idx_requests_requester_id_created ON requests (requester_id, created);
+
+CREATE INDEX IF NOT EXISTS idx_requests_created_request_id ON requests (created DESC, request_id DESC);
\ No newline at end of file
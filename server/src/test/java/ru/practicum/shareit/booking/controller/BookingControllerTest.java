@@ -7,17 +7,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookerDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemDtoInBooking;
 import ru.practicum.shareit.booking.dto.ShortBookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.core.exception.exceptions.BookingBadRequestException;
+import ru.practicum.shareit.core.exception.exceptions.BookingConflictException;
 import ru.practicum.shareit.core.exception.exceptions.BookingNotFoundException;
 import ru.practicum.shareit.core.exception.exceptions.UserNotFoundException;
-import ru.practicum.shareit.item.model.Item;
-import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.core.pagination.Cursor;
+import ru.practicum.shareit.core.pagination.CursorPage;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -37,8 +40,8 @@ public class BookingControllerTest {
     private BookingService bookingService;
     private static ShortBookingDto shortBookingDto;
     private static BookingDto bookingDto;
-    private static Item item;
-    private static User booker;
+    private static ItemDtoInBooking item;
+    private static BookerDto booker;
 
     @Autowired
     public BookingControllerTest(ObjectMapper objectMapper, MockMvc mockMvc, BookingService bookingServiceInterface) {
@@ -57,19 +60,8 @@ public class BookingControllerTest {
             .bookerId(1L)
             .build();
 
-        item = Item.builder()
-            .id(1L)
-            .name("tool")
-            .description("cool")
-            .available(true)
-            .owner(2L)
-            .build();
-
-        booker = User.builder()
-            .id(1L)
-            .name("user")
-            .email("test@mail.ru")
-            .build();
+        item = new ItemDtoInBooking(1L, "tool");
+        booker = new BookerDto(1L, "user");
 
         bookingDto = BookingDto.builder()
             .id(1L)
@@ -96,6 +88,26 @@ public class BookingControllerTest {
         verify(bookingService, times(1)).save(anyLong(), any(ShortBookingDto.class));
     }
 
+    @Test
+    void saveAll_whenInvoked_thenPerEntryResultsReturned() throws Exception {
+        List<BookingBatchResultDto> results = List.of(
+            BookingBatchResultDto.created(0, bookingDto),
+            BookingBatchResultDto.failed(1, new BookingConflictException("Вещь с id 1 уже забронирована на это время."))
+        );
+        when(bookingService.saveAll(anyLong(), anyList())).thenReturn(results);
+
+        mockMvc.perform(
+                post("/bookings/batch")
+                    .header("X-Sharer-User-Id", 1)
+                    .content(objectMapper.writeValueAsString(List.of(shortBookingDto, shortBookingDto)))
+                    .contentType(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].status", is(201)))
+            .andExpect(jsonPath("$[0].booking.id", is(bookingDto.getId()), Long.class))
+            .andExpect(jsonPath("$[1].status", is(409)));
+    }
+
     @Test
     void saveBooking_whenNullStart_thenExceptionReturned() throws Exception {
         ShortBookingDto bookinfWithNullStart = ShortBookingDto.builder()
@@ -114,6 +126,24 @@ public class BookingControllerTest {
             .andExpect(status().is4xxClientError());
     }
 
+    @Test
+    void saveBooking_whenItemAlreadyBooked_thenStatus409() throws Exception {
+        ShortBookingDto overlapping = ShortBookingDto.builder()
+            .start(LocalDateTime.of(2027, 11, 11, 11, 11))
+            .end(LocalDateTime.of(2027, 11, 12, 11, 11))
+            .itemId(1L)
+            .build();
+        when(bookingService.save(anyLong(), any(ShortBookingDto.class))).thenThrow(BookingConflictException.class);
+
+        mockMvc.perform(
+                post("/bookings")
+                    .header("X-Sharer-User-Id", 1)
+                    .content(objectMapper.writeValueAsString(overlapping))
+                    .contentType(MediaType.APPLICATION_JSON)
+            )
+            .andExpect(status().isConflict());
+    }
+
     @Test
     void saveBooking_whenNullEnd_thenExceptionReturned() throws Exception {
         ShortBookingDto bookingWithNullEnd = ShortBookingDto.builder()
@@ -174,17 +204,20 @@ public class BookingControllerTest {
     public void findByUserIdAndState_whenInvoked_thenStatus200andReturnBookingList() throws Exception {
         List<BookingDto> expectedBookings = List.of(bookingDto);
 
-        when(bookingService.findByUserIdAndState(anyLong(), anyString(), any(Pageable.class)))
-                .thenReturn(expectedBookings);
+        when(bookingService.findByUserIdAndState(anyLong(), anyString(), anyInt(), isNull(), anyInt()))
+                .thenReturn(new CursorPage<>(expectedBookings, null));
 
         mockMvc.perform(
                         get("/bookings")
                                 .header("X-Sharer-User-Id", "1")
                                 .param("state", "ALL"))
                 .andExpect(status().isOk())
-                .andExpect(content().json(objectMapper.writeValueAsString(List.of(bookingDto))));
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(bookingDto))))
+                .andExpect(jsonPath("$[0].item.name", is(item.getName())))
+                .andExpect(jsonPath("$[0].booker.id", is(booker.getId()), Long.class))
+                .andExpect(jsonPath("$[0].booker.email").doesNotExist());
 
-        verify(bookingService, times(1)).findByUserIdAndState(anyLong(), anyString(), any(Pageable.class));
+        verify(bookingService, times(1)).findByUserIdAndState(anyLong(), anyString(), anyInt(), isNull(), anyInt());
     }
 
 
@@ -210,10 +243,25 @@ public class BookingControllerTest {
             .andExpect(status().isNotFound());
     }
 
+    @Test
+    public void findByUserIdAndState_whenCursorGiven_thenNextCursorHeaderReturned() throws Exception {
+        when(bookingService.findByUserIdAndState(anyLong(), anyString(), anyInt(), eq("abc"), anyInt()))
+                .thenReturn(new CursorPage<>(List.of(bookingDto), "def"));
+
+        mockMvc.perform(
+                        get("/bookings")
+                                .header("X-Sharer-User-Id", "1")
+                                .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(Cursor.NEXT_CURSOR_HEADER, "def"))
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(bookingDto))));
+    }
+
     @Test
     public void findBookingsByItemOwnerId_whenInvoked_thenStatus200andReturnBookingList() throws Exception {
         List<BookingDto> expectedBookings = List.of(bookingDto);
-        when(bookingService.findBookingsByItemOwnerId(anyLong(), anyString(), any(Pageable.class))).thenReturn(expectedBookings);
+        when(bookingService.findBookingsByItemOwnerId(anyLong(), anyString(), anyInt(), isNull(), anyInt()))
+                .thenReturn(new CursorPage<>(expectedBookings, null));
 
         mockMvc.perform(
                         get("/bookings/owner")
@@ -222,7 +270,7 @@ public class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(List.of(bookingDto))));
 
-        verify(bookingService, times(1)).findBookingsByItemOwnerId(anyLong(), anyString(), any(Pageable.class));
+        verify(bookingService, times(1)).findBookingsByItemOwnerId(anyLong(), anyString(), anyInt(), isNull(), anyInt());
     }
 
     @Test
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.booking.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@JsonTest
+@Tag("benchmark")
+public class BookingSerializationBenchmarkTest {
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public BookingSerializationBenchmarkTest(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Test
+    void serialize_whenPageOfBookings_thenPayloadAndThroughputReported() throws Exception {
+        List<LegacyBookingDto> legacy = new ArrayList<>(PAGE_SIZE);
+        List<BookingDto> views = new ArrayList<>(PAGE_SIZE);
+        LocalDateTime start = LocalDateTime.of(2026, 11, 11, 11, 11);
+        User requester = new User(3L, "requester", "requester@mail.ru");
+        ItemRequest request = new ItemRequest(1L, "need a drill for the weekend", requester, start.minusDays(7));
+        User booker = new User(2L, "booker", "booker@mail.ru");
+
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Item item = new Item((long) i, "drill " + i, "cordless drill with two batteries and a case", true, 1L,
+                request, 3L);
+            legacy.add(new LegacyBookingDto((long) i, start.plusDays(i), start.plusDays(i + 1), item, booker,
+                Status.APPROVED));
+            views.add(new BookingDto((long) i, start.plusDays(i), start.plusDays(i + 1), item.getId(), item.getName(),
+                booker.getId(), booker.getName(), Status.APPROVED));
+        }
+
+        int legacyBytes = report("entities", legacy);
+        int viewBytes = report("view dto", views);
+
+        assertEquals("drill 0", objectMapper.readTree(objectMapper.writeValueAsBytes(views))
+            .get(0).get("item").get("name").asText());
+        assertTrue(viewBytes * 2 < legacyBytes);
+    }
+
+    private int report(String shape, Object page) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            objectMapper.writeValueAsBytes(page);
+        }
+
+        long started = System.nanoTime();
+        int bytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            bytes = objectMapper.writeValueAsBytes(page).length;
+        }
+        long elapsed = System.nanoTime() - started;
+
+        log.info("Booking page serialization: shape - {}, payload - {} bytes, throughput - {} pages/s",
+            shape, bytes, ITERATIONS * 1_000_000_000L / elapsed);
+        return bytes;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class LegacyBookingDto {
+        private Long id;
+        private LocalDateTime start;
+        private LocalDateTime end;
+        private Item item;
+        private User booker;
+        private Status status;
+    }
+}
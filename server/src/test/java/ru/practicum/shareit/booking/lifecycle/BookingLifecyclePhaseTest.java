@@ -0,0 +1,82 @@
+package ru.practicum.shareit.booking.lifecycle;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ShortBookingDto;
+import ru.practicum.shareit.booking.model.Phase;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+public class BookingLifecyclePhaseTest {
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final BookingLifecycleScheduler lifecycleScheduler;
+    private final List<Runnable> cleanup = new ArrayList<>();
+
+    @Autowired
+    public BookingLifecyclePhaseTest(BookingService bookingService, BookingRepository bookingRepository,
+                                     ItemRepository itemRepository, UserRepository userRepository,
+                                     BookingLifecycleScheduler lifecycleScheduler) {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+        this.lifecycleScheduler = lifecycleScheduler;
+    }
+
+    @AfterEach
+    void afterEach() {
+        cleanup.forEach(Runnable::run);
+    }
+
+    @Test
+    void save_whenBookingStartsAndEnds_thenPhaseMovedAtBoundaries() {
+        User owner = userRepository.save(User.builder().name("owner").email("lifecycle-owner@mail.ru").build());
+        User booker = userRepository.save(User.builder().name("booker").email("lifecycle-booker@mail.ru").build());
+        Item item = itemRepository.save(Item.builder()
+            .name("tool")
+            .description("tool")
+            .available(true)
+            .owner(owner.getId())
+            .build());
+        cleanup.add(() -> userRepository.deleteAllById(List.of(owner.getId(), booker.getId())));
+        cleanup.add(0, () -> itemRepository.deleteById(item.getId()));
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        LocalDateTime end = start.plusHours(3);
+        BookingDto booking = bookingService.save(booker.getId(), ShortBookingDto.builder()
+            .itemId(item.getId())
+            .start(start)
+            .end(end)
+            .build());
+        cleanup.add(0, () -> bookingRepository.deleteById(booking.getId()));
+
+        assertEquals(Phase.FUTURE, phaseOf(booking.getId()));
+        lifecycleScheduler.advance(start.minusNanos(1_000));
+        assertEquals(Phase.FUTURE, phaseOf(booking.getId()));
+        lifecycleScheduler.advance(start);
+        assertEquals(Phase.CURRENT, phaseOf(booking.getId()));
+        lifecycleScheduler.advance(end);
+        assertEquals(Phase.PAST, phaseOf(booking.getId()));
+    }
+
+    private Phase phaseOf(long bookingId) {
+        return bookingRepository.findById(bookingId).orElseThrow().getPhase();
+    }
+}
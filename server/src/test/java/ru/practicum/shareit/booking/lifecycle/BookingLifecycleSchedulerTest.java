@@ -0,0 +1,88 @@
+package ru.practicum.shareit.booking.lifecycle;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Phase;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.core.caching.ResourceVersions;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingLifecycleSchedulerTest {
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private BookingLifecycleScheduler scheduler;
+    private LocalDateTime start;
+
+    @BeforeEach
+    public void init() {
+        scheduler = new BookingLifecycleScheduler(bookingRepository, transactionManager,
+            new ResourceVersions(100));
+        start = LocalDateTime.now().plusDays(1);
+        scheduler.schedule(booking(1L, start, start.plusHours(2)));
+        scheduler.schedule(booking(2L, start.plusHours(1), start.plusHours(3)));
+        scheduler.schedule(booking(3L, start.plusDays(1), start.plusDays(2)));
+    }
+
+    @AfterEach
+    public void stop() {
+        scheduler.stop();
+    }
+
+    @Test
+    void advance_whenBoundariesPassed_thenPhasesUpdatedInBulk() {
+        scheduler.advance(start.plusMinutes(90));
+
+        verify(bookingRepository).updatePhase(List.of(1L, 2L), Phase.CURRENT);
+        verify(bookingRepository, never()).updatePhase(any(), eq(Phase.PAST));
+        assertEquals(4, scheduler.pending());
+    }
+
+    @Test
+    void advance_whenStartAndEndPassed_thenOnlyLastPhaseWritten() {
+        scheduler.advance(start.plusHours(2));
+
+        verify(bookingRepository).updatePhase(List.of(1L), Phase.PAST);
+        verify(bookingRepository).updatePhase(List.of(2L), Phase.CURRENT);
+        verify(bookingRepository, never()).updatePhase(List.of(1L, 2L), Phase.CURRENT);
+        assertEquals(3, scheduler.pending());
+    }
+
+    @Test
+    void advance_whenNothingDue_thenDatabaseUntouched() {
+        scheduler.advance(start.minusMinutes(1));
+
+        verifyNoInteractions(bookingRepository);
+        assertEquals(6, scheduler.pending());
+    }
+
+    @Test
+    void advance_whenUpdateFails_thenBoundariesKept() {
+        when(bookingRepository.updatePhase(List.of(1L, 2L), Phase.CURRENT))
+            .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> scheduler.advance(start.plusMinutes(90)));
+        assertEquals(6, scheduler.pending());
+    }
+
+    private Booking booking(long id, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder().id(id).item(Item.builder().id(id).build()).start(start).end(end).build();
+    }
+}
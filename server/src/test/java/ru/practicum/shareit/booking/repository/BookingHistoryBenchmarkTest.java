@@ -0,0 +1,85 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.ShortBookingDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.booking.service.BookingServiceImpl.FIRST;
+
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+public class BookingHistoryBenchmarkTest {
+    private static final int[] HISTORY_SIZES = {10, 100, 1_000, 10_000, 50_000};
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1_000;
+    private final BookingRepository bookingRepository;
+    private final TestEntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BookingHistoryBenchmarkTest(BookingRepository bookingRepository, TestEntityManager entityManager,
+                                       JdbcTemplate jdbcTemplate) {
+        this.bookingRepository = bookingRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Test
+    void findLastBookingByItemId_whenHistoryGrows_thenLatencyReported() {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        User owner = entityManager.persist(User.builder().name("owner").email("owner@mail.ru").build());
+        User booker = entityManager.persist(User.builder().name("booker").email("booker@mail.ru").build());
+
+        for (int size : HISTORY_SIZES) {
+            Item item = entityManager.persist(Item.builder()
+                .name("tool " + size)
+                .description("popular tool")
+                .available(true)
+                .owner(owner.getId())
+                .build());
+            entityManager.flush();
+            insertPastBookings(item.getId(), booker.getId(), now, size);
+            entityManager.clear();
+
+            for (int i = 0; i < WARMUP; i++) {
+                bookingRepository.findLastBookingByItemId(item.getId(), now, FIRST);
+            }
+
+            long started = System.nanoTime();
+            List<ShortBookingDto> last = List.of();
+            for (int i = 0; i < ITERATIONS; i++) {
+                last = bookingRepository.findLastBookingByItemId(item.getId(), now, FIRST);
+            }
+            long averageMicros = (System.nanoTime() - started) / ITERATIONS / 1_000;
+
+            assertEquals(1, last.size());
+            assertEquals(now.minusMinutes(1), last.get(0).getStart());
+            log.info("Last booking lookup: history size - {}, average latency - {} us", size, averageMicros);
+        }
+    }
+
+    private void insertPastBookings(long itemId, long bookerId, LocalDateTime now, int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = count; i > 0; i--) {
+            LocalDateTime start = now.minusMinutes(i);
+            rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusSeconds(30)), itemId, bookerId});
+        }
+
+        jdbcTemplate.batchUpdate("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+            "values (?, ?, ?, ?, 'APPROVED')", rows);
+    }
+}
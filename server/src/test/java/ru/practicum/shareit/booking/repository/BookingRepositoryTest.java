@@ -0,0 +1,234 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingPosition;
+import ru.practicum.shareit.booking.dto.ShortBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.Phase;
+import ru.practicum.shareit.booking.timeline.BookingTimelineIndex;
+import ru.practicum.shareit.core.StatementRecorder;
+import ru.practicum.shareit.core.pagination.OffsetPageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.booking.model.Status.APPROVED;
+import static ru.practicum.shareit.booking.model.Status.REJECTED;
+import static ru.practicum.shareit.booking.model.Status.WAITING;
+
+@DataJpaTest(properties = StatementRecorder.PROPERTY)
+public class BookingRepositoryTest {
+    private final BookingRepository bookingRepository;
+    private final TestEntityManager entityManager;
+    private LocalDateTime now;
+    private User owner;
+    private User booker;
+
+    @Autowired
+    public BookingRepositoryTest(BookingRepository bookingRepository, TestEntityManager entityManager) {
+        this.bookingRepository = bookingRepository;
+        this.entityManager = entityManager;
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        owner = entityManager.persist(User.builder().name("owner").email("owner@mail.ru").build());
+        booker = entityManager.persist(User.builder().name("booker").email("booker@mail.ru").build());
+    }
+
+    @Test
+    void findLastAndNextBookingsByItemIds_whenManyBookings_thenOnlyNearestReturned() {
+        Item tool = persistItem("tool");
+        Item egg = persistItem("egg");
+        Item idle = persistItem("idle");
+        persistBooking(tool, now.minusDays(10));
+        Booking toolLast = persistBooking(tool, now.minusDays(2));
+        Booking toolNext = persistBooking(tool, now.plusDays(1));
+        persistBooking(tool, now.plusDays(5));
+        Booking eggLast = persistBooking(egg, now.minusHours(1));
+
+        Map<Long, List<ShortBookingDto>> actual = bookingRepository
+            .findLastAndNextBookingsByItemIds(List.of(tool.getId(), egg.getId(), idle.getId()), now)
+            .stream()
+            .collect(Collectors.groupingBy(ShortBookingDto::getItemId));
+
+        assertEquals(2, actual.get(tool.getId()).size());
+        assertTrue(actual.get(tool.getId()).stream().anyMatch(b -> b.getId().equals(toolLast.getId())));
+        assertTrue(actual.get(tool.getId()).stream().anyMatch(b -> b.getId().equals(toolNext.getId())));
+        assertEquals(1, actual.get(egg.getId()).size());
+        assertEquals(eggLast.getId(), actual.get(egg.getId()).get(0).getId());
+        assertEquals(booker.getId(), actual.get(egg.getId()).get(0).getBookerId());
+        assertFalse(actual.containsKey(idle.getId()));
+    }
+
+    @Test
+    void search_whenSeekingAfterPosition_thenOlderBookingsReturnedInStableOrder() {
+        Item tool = persistItem("tool");
+        Booking oldest = persistBooking(tool, now.minusDays(3));
+        Booking first = persistBooking(tool, now);
+        Booking second = persistBooking(tool, now);
+        Booking newest = persistBooking(tool, now.plusDays(1));
+
+        List<BookingDto> firstPage = bookingRepository.search(byBooker().build(), PageRequest.of(0, 2));
+        BookingPosition after = BookingPosition.of(firstPage.get(1));
+        List<BookingDto> secondPage = bookingRepository.search(byBooker().after(after).build(), PageRequest.of(0, 2));
+        List<BookingDto> fromOne = bookingRepository.search(byBooker().build(), new OffsetPageRequest(1, 2));
+
+        assertEquals(ids(newest, second), ids(firstPage));
+        assertEquals(ids(first, oldest), ids(secondPage));
+        assertEquals(ids(second, first), ids(fromOne));
+    }
+
+    @Test
+    void search_whenNoCursor_thenBookingsAtAnyDateReturned() {
+        Item tool = persistItem("tool");
+        Booking past = persistBooking(tool, LocalDateTime.of(1, 1, 1, 0, 0));
+        Booking farFuture = entityManager.persist(Booking.builder()
+            .start(LocalDateTime.of(9999, 12, 31, 23, 59, 30))
+            .end(LocalDateTime.of(9999, 12, 31, 23, 59, 50))
+            .item(tool)
+            .booker(booker)
+            .status(APPROVED)
+            .build());
+
+        assertEquals(ids(farFuture, past), ids(bookingRepository.search(byBooker().build(), PageRequest.of(0, 10))));
+        assertEquals(ids(past, farFuture), ids(bookingRepository.search(byBooker().ascending(true).build(),
+            PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void search_whenOwnerAndState_thenOnePageInSingleStatement() {
+        Item tool = persistItem("tool");
+        Booking waiting = persistBooking(tool, now.plusDays(1));
+        waiting.setStatus(WAITING);
+        Booking rejected = persistBooking(tool, now.plusDays(2));
+        rejected.setStatus(REJECTED);
+        Booking approved = persistBooking(tool, now.plusDays(3));
+        entityManager.flush();
+        entityManager.clear();
+
+        StatementRecorder.clear();
+        List<BookingDto> all = bookingRepository.search(BookingSearch.builder().ownerId(owner.getId()).build(),
+            PageRequest.of(0, 10));
+        assertEquals(1, StatementRecorder.statements().size());
+        assertEquals(ids(approved, rejected, waiting), ids(all));
+        assertEquals(tool.getName(), all.get(0).getItem().getName());
+        assertEquals(booker.getName(), all.get(0).getBooker().getName());
+
+        assertEquals(ids(waiting), ids(bookingRepository.search(BookingSearch.builder()
+            .ownerId(owner.getId())
+            .state(BookingState.WAITING)
+            .build(), PageRequest.of(0, 10))));
+        assertEquals(ids(), ids(bookingRepository.search(BookingSearch.builder()
+            .ownerId(booker.getId())
+            .build(), PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void existsOverlapping_whenActiveBookingIntersects_thenTrue() {
+        Item tool = persistItem("tool");
+        Booking approved = persistBooking(tool, now);
+        Booking rejected = persistBooking(tool, now.plusDays(1));
+        rejected.setStatus(REJECTED);
+
+        assertTrue(bookingRepository.existsOverlapping(tool.getId(), now.minusMinutes(30), now.plusMinutes(30), 0L,
+            BookingTimelineIndex.ACTIVE));
+        assertFalse(bookingRepository.existsOverlapping(tool.getId(), now.plusHours(1), now.plusHours(2), 0L,
+            BookingTimelineIndex.ACTIVE));
+        assertFalse(bookingRepository.existsOverlapping(tool.getId(), now, now.plusHours(1), approved.getId(),
+            BookingTimelineIndex.ACTIVE));
+        assertFalse(bookingRepository.existsOverlapping(tool.getId(), now.plusDays(1), now.plusDays(2), 0L,
+            BookingTimelineIndex.ACTIVE));
+    }
+
+    @Test
+    void updateStatus_whenTransitionGuarded_thenOnlyOwnerChangesStatusOnce() {
+        Item tool = persistItem("tool");
+        Booking booking = persistBooking(tool, now);
+        entityManager.flush();
+
+        assertEquals(0, bookingRepository.updateStatus(booking.getId(), booker.getId(), REJECTED));
+        assertEquals(1, bookingRepository.updateStatus(booking.getId(), owner.getId(), REJECTED));
+        assertEquals(0, bookingRepository.updateStatus(booking.getId(), owner.getId(), REJECTED));
+
+        Booking actual = entityManager.find(Booking.class, booking.getId());
+        assertEquals(REJECTED, actual.getStatus());
+        assertEquals(booking.getVersion() + 1, actual.getVersion());
+    }
+
+    @Test
+    void markPhases_whenClockPassesBoundaries_thenPhaseLookupsFollowTime() {
+        Item tool = persistItem("tool");
+        Booking past = persistBooking(tool, now.minusDays(3));
+        Booking current = persistBooking(tool, now.minusMinutes(30));
+        Booking future = persistBooking(tool, now.plusDays(1));
+        entityManager.flush();
+        bookingRepository.updatePhase(List.of(past.getId(), current.getId(), future.getId()), Phase.FUTURE);
+
+        assertEquals(2, bookingRepository.markPast(now) + bookingRepository.markCurrent(now)
+            + bookingRepository.markFuture(now));
+        assertEquals(0, bookingRepository.markPast(now) + bookingRepository.markCurrent(now)
+            + bookingRepository.markFuture(now));
+        entityManager.clear();
+
+        assertEquals(ids(past), findByPhase(Phase.PAST));
+        assertEquals(ids(current), findByPhase(Phase.CURRENT));
+        assertEquals(ids(future), findByPhase(Phase.FUTURE));
+
+        assertEquals(1, bookingRepository.updatePhase(List.of(future.getId()), Phase.CURRENT));
+        entityManager.clear();
+        assertEquals(ids(future, current), findByPhase(Phase.CURRENT));
+    }
+
+    private List<Long> findByPhase(Phase phase) {
+        return ids(bookingRepository.search(byBooker().state(BookingState.valueOf(phase.name())).build(),
+            PageRequest.of(0, 10)));
+    }
+
+    private BookingSearch.BookingSearchBuilder byBooker() {
+        return BookingSearch.builder().bookerId(booker.getId());
+    }
+
+    private List<Long> ids(Booking... bookings) {
+        return Arrays.stream(bookings).map(Booking::getId).collect(Collectors.toList());
+    }
+
+    private List<Long> ids(List<BookingDto> bookings) {
+        return bookings.stream().map(BookingDto::getId).collect(Collectors.toList());
+    }
+
+    private Item persistItem(String name) {
+        return entityManager.persist(Item.builder()
+            .name(name)
+            .description(name)
+            .available(true)
+            .owner(owner.getId())
+            .build());
+    }
+
+    private Booking persistBooking(Item item, LocalDateTime start) {
+        return entityManager.persist(Booking.builder()
+            .start(start)
+            .end(start.plusHours(1))
+            .item(item)
+            .booker(booker)
+            .status(APPROVED)
+            .build());
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.Phase;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.core.StatementRecorder;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest(properties = StatementRecorder.PROPERTY)
+public class BookingStateQueryBenchmarkTest {
+    private static final int ITEMS = 50;
+    private static final int BOOKINGS = 20_000;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1_000;
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+    private static final Status[] STATUSES = {Status.WAITING, Status.APPROVED, Status.REJECTED};
+    private final BookingRepository bookingRepository;
+    private final TestEntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public BookingStateQueryBenchmarkTest(BookingRepository bookingRepository, TestEntityManager entityManager,
+                                          JdbcTemplate jdbcTemplate) {
+        this.bookingRepository = bookingRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Test
+    void search_whenEveryState_thenLatencyReported() {
+        LocalDateTime now = LocalDateTime.now();
+        User owner = entityManager.persist(User.builder().name("owner").email("owner@mail.ru").build());
+        User booker = entityManager.persist(User.builder().name("booker").email("booker@mail.ru").build());
+        List<Long> itemIds = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            itemIds.add(entityManager.persist(Item.builder()
+                .name("tool " + i)
+                .description("tool " + i)
+                .available(true)
+                .owner(owner.getId())
+                .build()).getId());
+        }
+        entityManager.flush();
+        insertBookings(itemIds, booker.getId(), now);
+        entityManager.clear();
+
+        for (BookingState state : BookingState.values()) {
+            report("booker", state, BookingSearch.builder().bookerId(booker.getId()).state(state).build());
+            report("owner", state, BookingSearch.builder()
+                .ownerId(owner.getId())
+                .state(state)
+                .ascending(state == BookingState.CURRENT)
+                .build());
+        }
+    }
+
+    private void report(String role, BookingState state, BookingSearch search) {
+        for (int i = 0; i < WARMUP; i++) {
+            bookingRepository.search(search, PAGE);
+            entityManager.clear();
+        }
+
+        StatementRecorder.clear();
+        long started = System.nanoTime();
+        List<BookingDto> page = List.of();
+        for (int i = 0; i < ITERATIONS; i++) {
+            page = bookingRepository.search(search, PAGE);
+            entityManager.clear();
+        }
+        long averageMicros = (System.nanoTime() - started) / ITERATIONS / 1_000;
+
+        assertEquals(ITERATIONS, StatementRecorder.statements().size());
+        assertEquals(PAGE.getPageSize(), page.size());
+        log.info("Booking search: role - {}, state - {}, bookings - {}, average latency - {} us, statements per page - 1",
+            role, state, BOOKINGS, averageMicros);
+    }
+
+    private void insertBookings(List<Long> itemIds, long bookerId, LocalDateTime now) {
+        List<Object[]> rows = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = now.minusHours(BOOKINGS / 2).plusHours(i);
+            LocalDateTime end = start.plusHours(i % 4 == 0 ? 200 : 1);
+            rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(end), itemIds.get(i % itemIds.size()),
+                bookerId, STATUSES[i % STATUSES.length].name(), Phase.of(start, end, now).name()});
+        }
+
+        jdbcTemplate.batchUpdate("insert into bookings (start_date, end_date, item_id, booker_id, status, phase) " +
+            "values (?, ?, ?, ?, ?, ?)", rows);
+    }
+}
@@ -0,0 +1,165 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.core.exception.exceptions.BookingBadRequestException;
+import ru.practicum.shareit.core.exception.exceptions.ConflictException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.booking.model.Status.APPROVED;
+import static ru.practicum.shareit.booking.model.Status.WAITING;
+
+@SpringBootTest
+public class BookingApproveConcurrencyTest {
+    private static final int THREADS = 64;
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private User owner;
+    private User booker;
+    private Item item;
+    private Booking booking;
+
+    @Autowired
+    public BookingApproveConcurrencyTest(BookingService bookingService, ItemService itemService,
+                                         BookingRepository bookingRepository, ItemRepository itemRepository,
+                                         UserRepository userRepository) {
+        this.bookingService = bookingService;
+        this.itemService = itemService;
+        this.bookingRepository = bookingRepository;
+        this.itemRepository = itemRepository;
+        this.userRepository = userRepository;
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        owner = userRepository.save(User.builder().name("owner").email("concurrent-owner@mail.ru").build());
+        booker = userRepository.save(User.builder().name("booker").email("concurrent-booker@mail.ru").build());
+        item = itemRepository.save(Item.builder()
+            .name("tool")
+            .description("tool")
+            .available(true)
+            .owner(owner.getId())
+            .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        booking = bookingRepository.save(Booking.builder()
+            .start(start)
+            .end(start.plusDays(1))
+            .item(item)
+            .booker(booker)
+            .status(WAITING)
+            .build());
+    }
+
+    @AfterEach
+    void afterEach() {
+        bookingRepository.deleteById(booking.getId());
+        itemRepository.deleteById(item.getId());
+        userRepository.deleteAllById(List.of(owner.getId(), booker.getId()));
+    }
+
+    @Test
+    void approve_whenSameBookingApprovedFromManyThreads_thenExactlyOneSucceeds() throws Exception {
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            attempts.add(() -> {
+                try {
+                    bookingService.approve(owner.getId(), booking.getId(), true);
+                    return true;
+                } catch (BookingBadRequestException e) {
+                    return false;
+                }
+            });
+        }
+
+        assertEquals(1, countSuccessful(attempts));
+        Booking actual = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertEquals(APPROVED, actual.getStatus());
+        assertEquals(booking.getVersion() + 1, actual.getVersion());
+    }
+
+    @Test
+    void approve_whenApprovalsAndRejectionsRace_thenEveryTransitionCounted() throws Exception {
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            boolean approved = i % 2 == 0;
+            attempts.add(() -> {
+                try {
+                    bookingService.approve(owner.getId(), booking.getId(), approved);
+                    return true;
+                } catch (BookingBadRequestException | ConflictException e) {
+                    return false;
+                }
+            });
+        }
+
+        int transitions = countSuccessful(attempts);
+
+        Booking actual = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertEquals(booking.getVersion() + transitions, actual.getVersion());
+    }
+
+    @Test
+    void update_whenSameItemUpdatedFromManyThreads_thenNoUpdateLost() throws Exception {
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            ItemDto dto = ItemDto.builder().description("tool " + i).build();
+            attempts.add(() -> {
+                try {
+                    itemService.update(owner.getId(), item.getId(), dto);
+                    return true;
+                } catch (ConflictException e) {
+                    return false;
+                }
+            });
+        }
+
+        int updates = countSuccessful(attempts);
+
+        Item actual = itemRepository.findById(item.getId()).orElseThrow();
+        assertEquals(item.getVersion() + updates, actual.getVersion());
+    }
+
+    private int countSuccessful(List<Callable<Boolean>> attempts) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Callable<Boolean> attempt : attempts) {
+            results.add(executor.submit(() -> {
+                startGate.await();
+                return attempt.call();
+            }));
+        }
+        startGate.countDown();
+
+        int successful = 0;
+        for (Future<Boolean> result : results) {
+            successful += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        return successful;
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.ShortBookingDto;
+import ru.practicum.shareit.core.StatementRecorder;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Transactional
+@SpringBootTest(properties = StatementRecorder.PROPERTY)
+public class BookingBatchInsertTest {
+    private static final int BOOKINGS = 40;
+    private final BookingService bookingService;
+    private final EntityManager entityManager;
+    private User booker;
+    private List<Item> items;
+
+    @Autowired
+    public BookingBatchInsertTest(BookingService bookingService, EntityManager entityManager) {
+        this.bookingService = bookingService;
+        this.entityManager = entityManager;
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        User owner = persistUser("batch-owner");
+        booker = persistUser("batch-booker");
+        items = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Item item = Item.builder()
+                .name("tool " + i)
+                .description("tool " + i)
+                .available(true)
+                .owner(owner.getId())
+                .build();
+            entityManager.persist(item);
+            items.add(item);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void saveAll_whenManyBookings_thenItemsLoadedOnceAndInsertsBatched() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<ShortBookingDto> dtos = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            dtos.add(ShortBookingDto.builder()
+                .itemId(items.get(i % items.size()).getId())
+                .start(start.plusHours(i))
+                .end(start.plusHours(i).plusMinutes(30))
+                .build());
+        }
+
+        StatementRecorder.clear();
+        List<BookingBatchResultDto> results = bookingService.saveAll(booker.getId(), dtos);
+        List<String> statements = StatementRecorder.statements();
+
+        assertEquals(BOOKINGS, results.stream().filter(result -> result.getStatus() == 201).count());
+        assertEquals(1, count(statements, "from items"));
+        assertEquals(1, count(statements, "insert into bookings"));
+    }
+
+    @Test
+    void saveAll_whenEntriesOverlapEachOther_thenOnlyFirstCreated() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        ShortBookingDto first = ShortBookingDto.builder()
+            .itemId(items.get(0).getId())
+            .start(start)
+            .end(start.plusHours(2))
+            .build();
+        ShortBookingDto overlapping = ShortBookingDto.builder()
+            .itemId(items.get(0).getId())
+            .start(start.plusHours(1))
+            .end(start.plusHours(3))
+            .build();
+
+        List<BookingBatchResultDto> results = bookingService.saveAll(booker.getId(), List.of(first, overlapping));
+
+        assertEquals(201, results.get(0).getStatus());
+        assertEquals(409, results.get(1).getStatus());
+    }
+
+    private long count(List<String> statements, String fragment) {
+        return statements.stream()
+            .filter(statement -> statement.toLowerCase().contains(fragment))
+            .count();
+    }
+
+    private User persistUser(String name) {
+        User user = User.builder().name(name).email(name + "@mail.ru").build();
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -4,20 +4,37 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingPosition;
+import ru.practicum.shareit.booking.dto.ShortBookingDto;
+import ru.practicum.shareit.booking.lifecycle.BookingLifecycleScheduler;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.Phase;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSearch;
+import ru.practicum.shareit.booking.timeline.BookingTimelineIndex;
+import ru.practicum.shareit.core.caching.ResourceVersions;
 import ru.practicum.shareit.core.exception.exceptions.BookingBadRequestException;
+import ru.practicum.shareit.core.exception.exceptions.BookingConflictException;
 import ru.practicum.shareit.core.exception.exceptions.BookingNotFoundException;
+import ru.practicum.shareit.core.exception.exceptions.ConcurrentUpdateException;
+import ru.practicum.shareit.core.exception.exceptions.PaginationBadRequestException;
 import ru.practicum.shareit.core.exception.exceptions.UnsupportedStatusException;
+import ru.practicum.shareit.core.pagination.CursorPage;
+import ru.practicum.shareit.core.pagination.OffsetPageRequest;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
@@ -28,17 +45,23 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static ru.practicum.shareit.booking.model.Status.*;
-import static ru.practicum.shareit.booking.service.BookingServiceImpl.SORT;
 
 @ExtendWith(MockitoExtension.class)
 public class BookingServiceTest {
@@ -50,6 +73,12 @@ public class BookingServiceTest {
     private BookingRepository bookingRepository;
     @Mock
     private StartAndEndValidator startAndEndValidator;
+    @Mock
+    private BookingTimelineIndex timelineIndex;
+    @Mock
+    private BookingLifecycleScheduler lifecycleScheduler;
+    @Spy
+    private ResourceVersions versions = new ResourceVersions(100);
     @InjectMocks
     private BookingServiceImpl bookingService;
     private long bookingId;
@@ -64,7 +93,6 @@ public class BookingServiceTest {
     private Booking bookingWithStatusIsFuture;
     private Booking bookingWithStatusIsCurrent;
     private Booking bookingWithStatusIsRejected;
-    public static Pageable pageable = PageRequest.of(0, 10, SORT);
     @Captor
     private ArgumentCaptor<Booking> captor;
 
@@ -74,7 +102,7 @@ public class BookingServiceTest {
         userDto = UserMapper.toUserDto(user);
         notOwner = new User(2L, "fake", "fake@mail.ru");
         notOwnerDto = UserMapper.toUserDto(notOwner);
-        item = new Item(1L, "tool", "cool tool", true, 1L, null);
+        item = new Item(1L, "tool", "cool tool", true, 1L, null, 0L);
         itemDto = ItemMapper.toItemDto(item);
 
         bookingId = 1L;
@@ -84,7 +112,9 @@ public class BookingServiceTest {
                 LocalDateTime.of(2027, 11, 11, 11, 11),
                 item,
                 notOwner,
-                WAITING
+                WAITING,
+                Phase.FUTURE,
+                0L
         );
 
         bookingWithStatusIsPast = new Booking(
@@ -93,7 +123,9 @@ public class BookingServiceTest {
                 LocalDateTime.of(2022, 11, 11, 11, 11),
                 item,
                 notOwner,
-                REJECTED
+                REJECTED,
+                Phase.PAST,
+                0L
         );
 
         bookingWithStatusIsCurrent = new Booking(
@@ -102,7 +134,9 @@ public class BookingServiceTest {
                 LocalDateTime.of(2024, 11, 11, 11, 11),
                 item,
                 notOwner,
-                WAITING
+                WAITING,
+                Phase.CURRENT,
+                0L
         );
 
         bookingWithStatusIsFuture = new Booking(
@@ -111,7 +145,9 @@ public class BookingServiceTest {
                 LocalDateTime.of(2026, 11, 11, 11, 11),
                 item,
                 notOwner,
-                WAITING
+                WAITING,
+                Phase.FUTURE,
+                0L
         );
 
         bookingWithStatusIsRejected = new Booking(
@@ -120,7 +156,9 @@ public class BookingServiceTest {
                 LocalDateTime.of(2026, 11, 11, 11, 11),
                 item,
                 notOwner,
-                REJECTED
+                REJECTED,
+                Phase.FUTURE,
+                0L
         );
     }
 
@@ -132,10 +170,11 @@ public class BookingServiceTest {
         BookingDto actual = bookingService.save(2L, BookingMapper.toShortBookingDto(booking));
 
         assertEquals(booking.getId(), actual.getId());
-        assertEquals(booking.getItem(), actual.getItem());
-        assertEquals(booking.getBooker(), actual.getBooker());
+        assertEquals(booking.getItem().getId(), actual.getItem().getId());
+        assertEquals(booking.getBooker().getId(), actual.getBooker().getId());
         assertEquals(booking.getStart(), actual.getStart());
         verify(bookingRepository).save(any(Booking.class));
+        verify(lifecycleScheduler).schedule(booking);
     }
 
     @Test
@@ -164,51 +203,155 @@ public class BookingServiceTest {
     }
 
     @Test
-    void approveBooking_whenOwnerRequests_thenItemReturned() {
+    void saveBooking_whenItemAlreadyBooked_thenExceptionReturned() {
         when(itemService.getExistingItem(item.getId())).thenReturn(item);
         when(bookingRepository.save(any())).thenReturn(booking);
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        doThrow(BookingConflictException.class).when(timelineIndex).reserve(booking);
 
-        bookingService.save(2L, BookingMapper.toShortBookingDto(booking));
-        bookingService.approve(user.getId(), bookingId, true);
-
-        verify(bookingRepository, times(2)).save(captor.capture());
-        Booking savedBooking = captor.getValue();
-        assertEquals(APPROVED, savedBooking.getStatus());
+        assertThrows(BookingConflictException.class,
+                () -> bookingService.save(2L, BookingMapper.toShortBookingDto(booking)));
     }
 
     @Test
-    void approveBooking_whenNotOwnerRequests_thenExceptionReturned() {
+    void saveBooking_whenExclusionConstraintViolated_thenExceptionReturned() {
         when(itemService.getExistingItem(item.getId())).thenReturn(item);
+        when(bookingRepository.save(any())).thenThrow(DataIntegrityViolationException.class);
+
+        assertThrows(BookingConflictException.class,
+                () -> bookingService.save(2L, BookingMapper.toShortBookingDto(booking)));
+        verify(timelineIndex, never()).reserve(any());
+    }
+
+    @Test
+    void saveAll_whenSomeEntriesInvalid_thenPerEntryResultsReturned() {
+        Item otherItem = new Item(2L, "egg", "so-so", true, 2L, null, 0L);
+        ShortBookingDto valid = BookingMapper.toShortBookingDto(booking);
+        ShortBookingDto missingItem = ShortBookingDto.builder()
+                .itemId(99L)
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .build();
+        ShortBookingDto ownItem = ShortBookingDto.builder()
+                .itemId(otherItem.getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .build();
+        ShortBookingDto overlapping = BookingMapper.toShortBookingDto(booking);
+        when(userService.getExistingUser(2L)).thenReturn(notOwner);
+        when(itemService.getExistingItems(anyCollection())).thenReturn(Map.of(item.getId(), item,
+                otherItem.getId(), otherItem));
+        doNothing().doThrow(BookingConflictException.class).when(timelineIndex).checkAvailable(any());
         when(bookingRepository.save(any())).thenReturn(booking);
-        when(bookingRepository.findById(bookingId)).thenThrow(BookingNotFoundException.class);
 
-        bookingService.save(2L, BookingMapper.toShortBookingDto(booking));
+        List<BookingBatchResultDto> results = bookingService.saveAll(2L,
+                List.of(valid, missingItem, ownItem, overlapping));
+
+        assertEquals(List.of(201, 404, 404, 409), results.stream()
+                .map(BookingBatchResultDto::getStatus)
+                .collect(Collectors.toList()));
+        assertEquals(booking.getId(), results.get(0).getBooking().getId());
+        verify(itemService, times(1)).getExistingItems(anyCollection());
+        verify(bookingRepository, times(1)).save(any());
+        verify(timelineIndex, times(1)).reserve(booking);
+        verify(bookingRepository).flush();
+    }
+
+    @Test
+    void saveAll_whenBatchTooLarge_thenExceptionReturned() {
+        List<ShortBookingDto> dtos = Collections.nCopies(101, BookingMapper.toShortBookingDto(booking));
+
+        assertThrows(BookingBadRequestException.class, () -> bookingService.saveAll(2L, dtos));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void saveAll_whenConstraintViolatedOnFlush_thenExceptionReturned() {
+        when(userService.getExistingUser(2L)).thenReturn(notOwner);
+        when(itemService.getExistingItems(anyCollection())).thenReturn(Map.of(item.getId(), item));
+        when(bookingRepository.save(any())).thenReturn(booking);
+        doThrow(DataIntegrityViolationException.class).when(bookingRepository).flush();
+
+        assertThrows(BookingConflictException.class,
+                () -> bookingService.saveAll(2L, List.of(BookingMapper.toShortBookingDto(booking))));
+    }
+
+    @Test
+    void approveBooking_whenOwnerRequests_thenItemReturned() {
+        when(bookingRepository.updateStatus(bookingId, user.getId(), APPROVED)).thenReturn(1);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+
+        BookingDto actual = bookingService.approve(user.getId(), bookingId, true);
+
+        assertEquals(bookingId, actual.getId());
+        verify(timelineIndex).reserve(booking);
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void approveBooking_whenRejected_thenTimelineReleased() {
+        when(bookingRepository.updateStatus(bookingId, user.getId(), REJECTED)).thenReturn(1);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+
+        bookingService.approve(user.getId(), bookingId, false);
+
+        verify(timelineIndex).release(booking);
+        verify(timelineIndex, never()).reserve(any());
+    }
+
+    @Test
+    void approveBooking_whenExclusionConstraintViolated_thenConflictReturned() {
+        when(bookingRepository.updateStatus(bookingId, user.getId(), APPROVED))
+                .thenThrow(DataIntegrityViolationException.class);
+
+        assertThrows(BookingConflictException.class, () -> bookingService.approve(user.getId(), bookingId, true));
+        verify(timelineIndex, never()).reserve(any());
+    }
+
+    @Test
+    void approveBooking_whenNotOwnerRequests_thenExceptionReturned() {
+        when(bookingRepository.updateStatus(bookingId, notOwner.getId(), APPROVED)).thenReturn(0);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
 
-        verify(bookingRepository, times(1)).save(captor.capture());
         assertThrows(BookingNotFoundException.class,
                 () -> bookingService.approve(notOwner.getId(), bookingId, true));
+        verify(timelineIndex, never()).reserve(any());
+    }
+
+    @Test
+    void approveBooking_whenBookingNotExists_thenExceptionReturned() {
+        when(bookingRepository.updateStatus(bookingId, user.getId(), APPROVED)).thenReturn(0);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
+
+        assertThrows(BookingNotFoundException.class, () -> bookingService.approve(user.getId(), bookingId, true));
     }
 
     @Test
     void approveBooking_whenStatusAlreadyApproved_thenExceptionReturned() {
-        Booking bookingWithStatusAlreadyApproved = new Booking(
-                bookingId,
-                LocalDateTime.of(2026, 11, 11, 11, 11),
-                LocalDateTime.of(2027, 11, 11, 11, 11),
-                item,
-                notOwner,
-                APPROVED
-        );
+        booking.setStatus(APPROVED);
+        when(bookingRepository.updateStatus(bookingId, user.getId(), APPROVED)).thenReturn(0);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
 
-        when(itemService.getExistingItem(item.getId())).thenReturn(item);
-        when(bookingRepository.save(any())).thenReturn(bookingWithStatusAlreadyApproved);
-        when(bookingRepository.findById(bookingId)).thenThrow(BookingBadRequestException.class);
+        assertThrows(BookingBadRequestException.class, () -> bookingService.approve(user.getId(), bookingId, true));
+    }
 
-        bookingService.save(2L, BookingMapper.toShortBookingDto(bookingWithStatusAlreadyApproved));
+    @Test
+    void approveBooking_whenStatusChangedConcurrently_thenUpdateRetried() {
+        when(bookingRepository.updateStatus(bookingId, user.getId(), APPROVED)).thenReturn(0, 1);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+
+        bookingService.approve(user.getId(), bookingId, true);
 
-        verify(bookingRepository, times(1)).save(captor.capture());
-        assertThrows(BookingBadRequestException.class, () -> bookingService.approve(notOwner.getId(), bookingId, true));
+        verify(bookingRepository, times(2)).updateStatus(bookingId, user.getId(), APPROVED);
+        verify(timelineIndex).reserve(booking);
+    }
+
+    @Test
+    void approveBooking_whenUpdateKeepsLosingRace_thenExceptionReturned() {
+        when(bookingRepository.updateStatus(bookingId, user.getId(), APPROVED)).thenReturn(0);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+
+        assertThrows(ConcurrentUpdateException.class, () -> bookingService.approve(user.getId(), bookingId, true));
+        verify(bookingRepository, times(3)).updateStatus(bookingId, user.getId(), APPROVED);
     }
 
     @Test
@@ -217,8 +360,8 @@ public class BookingServiceTest {
 
         BookingDto actual = bookingService.findById(bookingId, user.getId());
 
-        assertEquals(booking.getItem(), actual.getItem());
-        assertEquals(booking.getBooker(), actual.getBooker());
+        assertEquals(booking.getItem().getId(), actual.getItem().getId());
+        assertEquals(booking.getBooker().getId(), actual.getBooker().getId());
     }
 
     @Test
@@ -239,102 +382,134 @@ public class BookingServiceTest {
     @Test
     void findByUserIdAndState_whenCurrentFound_thenBookingListReturned() {
         List<Booking> bookings = List.of(bookingWithStatusIsCurrent);
-        when(bookingRepository.findByBookerIdCurrent(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(bookingWithStatusIsCurrent));
+        when(bookingRepository.search(argThat(search(false, BookingState.CURRENT)), any(Pageable.class)))
+                .thenReturn(toDtos(List.of(bookingWithStatusIsCurrent)));
 
-        List<Booking> actualBookings = bookingService.findByUserIdAndState(notOwner.getId(), "CURRENT", pageable)
+        List<Long> actualBookings = bookingService.findByUserIdAndState(notOwner.getId(), "CURRENT", 0, null, 10)
+                .getContent()
                 .stream()
-                .map(BookingMapper::toBookingFromBookingDto)
+                .map(BookingDto::getId)
                 .collect(Collectors.toList());
 
-        assertEquals(bookings, actualBookings);
+        assertEquals(ids(bookings), actualBookings);
         assertEquals(1, actualBookings.size());
     }
 
     @Test
     void findByUserIdAndState_whenPastFound_thenBookingListReturned() {
         List<Booking> bookings = List.of(bookingWithStatusIsPast);
-        when(bookingRepository.findByBookerIdAndEndIsBefore(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(bookingWithStatusIsPast));
+        when(bookingRepository.search(argThat(search(false, BookingState.PAST)), any(Pageable.class)))
+                .thenReturn(toDtos(List.of(bookingWithStatusIsPast)));
 
-        List<Booking> actualBookings = bookingService.findByUserIdAndState(notOwner.getId(), "PAST", pageable)
+        List<Long> actualBookings = bookingService.findByUserIdAndState(notOwner.getId(), "PAST", 0, null, 10)
+                .getContent()
                 .stream()
-                .map(BookingMapper::toBookingFromBookingDto)
+                .map(BookingDto::getId)
                 .collect(Collectors.toList());
 
-        assertEquals(bookings, actualBookings);
+        assertEquals(ids(bookings), actualBookings);
         assertEquals(1, actualBookings.size());
     }
 
     @Test
     void findByUserIdAndState_whenFutureFound_thenBookingListReturned() {
         List<Booking> bookings = List.of(bookingWithStatusIsFuture);
-        when(bookingRepository.findByBookerIdAndStartIsAfter(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(List.of(bookingWithStatusIsFuture));
+        when(bookingRepository.search(argThat(search(false, BookingState.FUTURE)), any(Pageable.class)))
+                .thenReturn(toDtos(List.of(bookingWithStatusIsFuture)));
 
-        List<Booking> actualBookings = bookingService.findByUserIdAndState(notOwner.getId(), "FUTURE", pageable)
+        List<Long> actualBookings = bookingService.findByUserIdAndState(notOwner.getId(), "FUTURE", 0, null, 10)
+                .getContent()
                 .stream()
-                .map(BookingMapper::toBookingFromBookingDto)
+                .map(BookingDto::getId)
                 .collect(Collectors.toList());
 
-        assertEquals(bookings, actualBookings);
+        assertEquals(ids(bookings), actualBookings);
         assertEquals(1, actualBookings.size());
     }
 
     @Test
     void findByUserIdAndState_whenRejectedFound_thenBookingListReturned() {
         List<Booking> bookings = List.of(bookingWithStatusIsRejected);
-        when(bookingRepository.findByBookerIdAndStatus(anyLong(), any(Status.class), any(Pageable.class)))
-                .thenReturn(List.of(bookingWithStatusIsRejected));
+        when(bookingRepository.search(argThat(search(false, BookingState.REJECTED)), any(Pageable.class)))
+                .thenReturn(toDtos(List.of(bookingWithStatusIsRejected)));
 
-        List<Booking> actualBookings = bookingService.findByUserIdAndState(notOwner.getId(), "REJECTED", pageable)
+        List<Long> actualBookings = bookingService.findByUserIdAndState(notOwner.getId(), "REJECTED", 0, null, 10)
+                .getContent()
                 .stream()
-                .map(BookingMapper::toBookingFromBookingDto)
+                .map(BookingDto::getId)
                 .collect(Collectors.toList());
 
-        assertEquals(bookings, actualBookings);
+        assertEquals(ids(bookings), actualBookings);
         assertEquals(1, actualBookings.size());
     }
 
     @Test
     void findByUserIdAndState_whenWaitingFound_thenBookingListReturned() {
         List<Booking> bookings = List.of(booking);
-        when(bookingRepository.findByBookerIdAndStatus(anyLong(), any(Status.class), any(Pageable.class)))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.search(argThat(search(false, BookingState.WAITING)), any(Pageable.class)))
+                .thenReturn(toDtos(List.of(booking)));
 
-        List<Booking> actualBookings = bookingService.findByUserIdAndState(notOwner.getId(), "WAITING", pageable)
+        List<Long> actualBookings = bookingService.findByUserIdAndState(notOwner.getId(), "WAITING", 0, null, 10)
+                .getContent()
                 .stream()
-                .map(BookingMapper::toBookingFromBookingDto)
+                .map(BookingDto::getId)
                 .collect(Collectors.toList());
 
-        assertEquals(bookings, actualBookings);
+        assertEquals(ids(bookings), actualBookings);
         assertEquals(1, actualBookings.size());
     }
 
     @Test
     void findByUserIdAndState_whenAllFound_thenBookingListReturned() {
         List<Booking> bookings = List.of(booking);
-        when(bookingRepository.findByBookerId(anyLong(), any(Pageable.class))).thenReturn(List.of(booking));
+        when(bookingRepository.search(argThat(search(false, BookingState.ALL)), any(Pageable.class)))
+                .thenReturn(toDtos(List.of(booking)));
 
-        List<Booking> actualBookings = bookingService.findByUserIdAndState(notOwner.getId(), "ALL", pageable)
+        List<Long> actualBookings = bookingService.findByUserIdAndState(notOwner.getId(), "ALL", 0, null, 10)
+                .getContent()
                 .stream()
-                .map(BookingMapper::toBookingFromBookingDto)
+                .map(BookingDto::getId)
                 .collect(Collectors.toList());
 
-        assertEquals(bookings, actualBookings);
+        assertEquals(ids(bookings), actualBookings);
         assertEquals(1, actualBookings.size());
     }
 
+    @Test
+    void findByUserIdAndState_whenPageIsFull_thenCursorSeeksAfterLastBooking() {
+        when(bookingRepository.search(argThat(search -> search != null && search.getAfter() == null),
+                eq(new OffsetPageRequest(0, 1))))
+                .thenReturn(toDtos(List.of(booking)));
+        when(bookingRepository.search(argThat(search -> search != null && search.getAfter() != null
+                && search.getAfter().getBookingId() == booking.getId()
+                && search.getAfter().getStart().equals(booking.getStart())), eq(PageRequest.of(0, 1))))
+                .thenReturn(List.of());
+
+        CursorPage<BookingDto> first = bookingService.findByUserIdAndState(notOwner.getId(), "ALL", 0, null, 1);
+        CursorPage<BookingDto> second = bookingService.findByUserIdAndState(notOwner.getId(), "ALL", 0,
+                first.getNextCursor(), 1);
+
+        assertEquals(1, first.getContent().size());
+        assertTrue(second.getContent().isEmpty());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void findByUserIdAndState_whenCursorMalformed_thenExceptionReturned() {
+        assertThrows(PaginationBadRequestException.class,
+                () -> bookingService.findByUserIdAndState(notOwner.getId(), "ALL", 0, "%%%", 10));
+    }
+
     @Test
     void findByUserIdAndState_whenStatusIsUnsupported_thenExceptionReturned() {
         assertThrows(UnsupportedStatusException.class,
-                () -> bookingService.findByUserIdAndState(notOwner.getId(), String.valueOf("UNSUPPORTED"), pageable));
+                () -> bookingService.findByUserIdAndState(notOwner.getId(), String.valueOf("UNSUPPORTED"), 0, null, 10));
     }
 
     @Test
     void findBookingsByItemOwnerId_whenStatusIsUnsupported_thenExceptionReturned() {
         assertThrows(UnsupportedStatusException.class,
-                () -> bookingService.findBookingsByItemOwnerId(notOwner.getId(), String.valueOf("UNSUPPORTED"), pageable));
+                () -> bookingService.findBookingsByItemOwnerId(notOwner.getId(), String.valueOf("UNSUPPORTED"), 0, null, 10));
     }
 
     @Test
@@ -342,16 +517,17 @@ public class BookingServiceTest {
         List<Booking> bookings = List.of(bookingWithStatusIsCurrent);
         when(itemService.getExistingItem(item.getId())).thenReturn(item);
         when(bookingRepository.save(any())).thenReturn(bookingWithStatusIsCurrent);
-        when(bookingRepository.findBookingsByItemOwnerCurrent(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.search(argThat(search(true, BookingState.CURRENT)), any(Pageable.class)))
+                .thenReturn(toDtos(bookings));
 
         bookingService.save(2L, BookingMapper.toShortBookingDto(bookingWithStatusIsCurrent));
-        List<Booking> actualBookings = bookingService.findBookingsByItemOwnerId(1L, "CURRENT", pageable)
+        List<Long> actualBookings = bookingService.findBookingsByItemOwnerId(1L, "CURRENT", 0, null, 10)
+                .getContent()
                 .stream()
-                .map(BookingMapper::toBookingFromBookingDto)
+                .map(BookingDto::getId)
                 .collect(Collectors.toList());
 
-        assertEquals(bookings, actualBookings);
+        assertEquals(ids(bookings), actualBookings);
         assertEquals(1, actualBookings.size());
     }
 
@@ -360,16 +536,17 @@ public class BookingServiceTest {
         List<Booking> bookings = List.of(booking);
         when(itemService.getExistingItem(item.getId())).thenReturn(item);
         when(bookingRepository.save(any())).thenReturn(booking);
-        when(bookingRepository.findBookingsByItemOwnerAndStatus(anyLong(), any(Status.class), any(Pageable.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.search(argThat(search(true, BookingState.WAITING)), any(Pageable.class)))
+                .thenReturn(toDtos(bookings));
 
         bookingService.save(2L, BookingMapper.toShortBookingDto(booking));
-        List<Booking> actualBookings = bookingService.findBookingsByItemOwnerId(1L, "WAITING", pageable)
+        List<Long> actualBookings = bookingService.findBookingsByItemOwnerId(1L, "WAITING", 0, null, 10)
+                .getContent()
                 .stream()
-                .map(BookingMapper::toBookingFromBookingDto)
+                .map(BookingDto::getId)
                 .collect(Collectors.toList());
 
-        assertEquals(bookings, actualBookings);
+        assertEquals(ids(bookings), actualBookings);
         assertEquals(1, actualBookings.size());
     }
 
@@ -378,16 +555,17 @@ public class BookingServiceTest {
         List<Booking> bookings = List.of(bookingWithStatusIsRejected);
         when(itemService.getExistingItem(item.getId())).thenReturn(item);
         when(bookingRepository.save(any())).thenReturn(bookingWithStatusIsRejected);
-        when(bookingRepository.findBookingsByItemOwnerAndStatus(anyLong(), any(Status.class), any(Pageable.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.search(argThat(search(true, BookingState.REJECTED)), any(Pageable.class)))
+                .thenReturn(toDtos(bookings));
 
         bookingService.save(2L, BookingMapper.toShortBookingDto(bookingWithStatusIsRejected));
-        List<Booking> actualBookings = bookingService.findBookingsByItemOwnerId(1L, "REJECTED", pageable)
+        List<Long> actualBookings = bookingService.findBookingsByItemOwnerId(1L, "REJECTED", 0, null, 10)
+                .getContent()
                 .stream()
-                .map(BookingMapper::toBookingFromBookingDto)
+                .map(BookingDto::getId)
                 .collect(Collectors.toList());
 
-        assertEquals(bookings, actualBookings);
+        assertEquals(ids(bookings), actualBookings);
         assertEquals(1, actualBookings.size());
     }
 
@@ -396,16 +574,17 @@ public class BookingServiceTest {
         List<Booking> bookings = List.of(bookingWithStatusIsFuture);
         when(itemService.getExistingItem(item.getId())).thenReturn(item);
         when(bookingRepository.save(any())).thenReturn(bookingWithStatusIsFuture);
-        when(bookingRepository.findBookingsByItemOwnerAndStartIsAfter(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.search(argThat(search(true, BookingState.FUTURE)), any(Pageable.class)))
+                .thenReturn(toDtos(bookings));
 
         bookingService.save(2L, BookingMapper.toShortBookingDto(bookingWithStatusIsFuture));
-        List<Booking> actualBookings = bookingService.findBookingsByItemOwnerId(1L, "FUTURE", pageable)
+        List<Long> actualBookings = bookingService.findBookingsByItemOwnerId(1L, "FUTURE", 0, null, 10)
+                .getContent()
                 .stream()
-                .map(BookingMapper::toBookingFromBookingDto)
+                .map(BookingDto::getId)
                 .collect(Collectors.toList());
 
-        assertEquals(bookings, actualBookings);
+        assertEquals(ids(bookings), actualBookings);
         assertEquals(1, actualBookings.size());
     }
 
@@ -414,16 +593,17 @@ public class BookingServiceTest {
         List<Booking> bookings = List.of(bookingWithStatusIsPast);
         when(itemService.getExistingItem(item.getId())).thenReturn(item);
         when(bookingRepository.save(any())).thenReturn(bookingWithStatusIsPast);
-        when(bookingRepository.findBookingsByItemOwnerAndEndIsBefore(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.search(argThat(search(true, BookingState.PAST)), any(Pageable.class)))
+                .thenReturn(toDtos(bookings));
 
         bookingService.save(2L, BookingMapper.toShortBookingDto(bookingWithStatusIsPast));
-        List<Booking> actualBookings = bookingService.findBookingsByItemOwnerId(1L, "PAST", pageable)
+        List<Long> actualBookings = bookingService.findBookingsByItemOwnerId(1L, "PAST", 0, null, 10)
+                .getContent()
                 .stream()
-                .map(BookingMapper::toBookingFromBookingDto)
+                .map(BookingDto::getId)
                 .collect(Collectors.toList());
 
-        assertEquals(bookings, actualBookings);
+        assertEquals(ids(bookings), actualBookings);
         assertEquals(1, actualBookings.size());
     }
 
@@ -432,15 +612,71 @@ public class BookingServiceTest {
         List<Booking> bookings = List.of(bookingWithStatusIsPast);
         when(itemService.getExistingItem(item.getId())).thenReturn(item);
         when(bookingRepository.save(any())).thenReturn(bookingWithStatusIsPast);
-        when(bookingRepository.findBookingsByItemOwner(anyLong(), any(Pageable.class))).thenReturn(bookings);
+        when(bookingRepository.search(argThat(search(true, BookingState.ALL)), any(Pageable.class)))
+                .thenReturn(toDtos(bookings));
 
         bookingService.save(2L, BookingMapper.toShortBookingDto(bookingWithStatusIsPast));
-        List<Booking> actualBookings = bookingService.findBookingsByItemOwnerId(1L, "ALL", pageable)
+        List<Long> actualBookings = bookingService.findBookingsByItemOwnerId(1L, "ALL", 0, null, 10)
+                .getContent()
                 .stream()
-                .map(BookingMapper::toBookingFromBookingDto)
+                .map(BookingDto::getId)
                 .collect(Collectors.toList());
 
-        assertEquals(bookings, actualBookings);
+        assertEquals(ids(bookings), actualBookings);
         assertEquals(1, actualBookings.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void fillItemsWithBookings_whenBookingsFound_thenItemsFilledWithOneQuery() {
+        ItemDto other = ItemMapper.toItemDto(new Item(2L, "egg", "so-so", true, 1L, null, 0L));
+        ShortBookingDto last = new ShortBookingDto(3L, LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(1), item.getId(), notOwner.getId());
+        ShortBookingDto next = new ShortBookingDto(4L, LocalDateTime.now().plusDays(2),
+                LocalDateTime.now().plusDays(3), item.getId(), notOwner.getId());
+        ShortBookingDto orphanNext = new ShortBookingDto(5L, LocalDateTime.now().plusDays(2),
+                LocalDateTime.now().plusDays(3), other.getId(), notOwner.getId());
+        when(bookingRepository.findLastAndNextBookingsByItemIds(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(List.of(last, next, orphanNext));
+
+        bookingService.fillItemsWithBookings(List.of(itemDto, other));
+
+        assertEquals(last.getId(), itemDto.getLastBooking().getId());
+        assertEquals(next.getId(), itemDto.getNextBooking().getId());
+        assertNull(other.getLastBooking());
+        assertNull(other.getNextBooking());
+        verify(bookingRepository, times(1))
+                .findLastAndNextBookingsByItemIds(anyCollection(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void fillItemWithBookings_whenBookingsFound_thenTopOneProjectionsUsed() {
+        ShortBookingDto last = new ShortBookingDto(3L, LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(1), item.getId(), notOwner.getId());
+        ShortBookingDto next = new ShortBookingDto(4L, LocalDateTime.now().plusDays(2),
+                LocalDateTime.now().plusDays(3), item.getId(), notOwner.getId());
+        when(bookingRepository.findLastBookingByItemId(anyLong(), any(LocalDateTime.class), eq(BookingServiceImpl.FIRST)))
+                .thenReturn(List.of(last));
+        when(bookingRepository.findNextBookingByItemId(anyLong(), any(LocalDateTime.class), eq(BookingServiceImpl.FIRST)))
+                .thenReturn(List.of(next));
+
+        bookingService.fillItemWithBookings(itemDto);
+
+        assertEquals(last.getId(), itemDto.getLastBooking().getId());
+        assertEquals(next.getId(), itemDto.getNextBooking().getId());
+    }
+
+    private ArgumentMatcher<BookingSearch> search(boolean owner, BookingState state) {
+        return search -> search != null
+                && (owner ? search.getOwnerId() : search.getBookerId()) != null
+                && search.getState() == state
+                && search.isAscending() == (owner && state == BookingState.CURRENT);
+    }
+
+    private List<BookingDto> toDtos(List<Booking> bookings) {
+        return bookings.stream().map(BookingMapper::toBookingDto).collect(Collectors.toList());
+    }
+
+    private List<Long> ids(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getId).collect(Collectors.toList());
+    }
+}
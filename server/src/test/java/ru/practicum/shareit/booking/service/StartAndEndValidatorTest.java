@@ -0,0 +1,47 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.ShortBookingDto;
+import ru.practicum.shareit.core.exception.exceptions.BookingBadRequestException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StartAndEndValidatorTest {
+    private final StartAndEndValidator validator = new StartAndEndValidator();
+    private final LocalDateTime now = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Test
+    void validate_whenStartAlreadyPassed_thenAccepted() {
+        assertDoesNotThrow(() -> validator.validate(booking(now.minusSeconds(1))));
+    }
+
+    @Test
+    void validateNotInPast_whenStartWithinClockTolerance_thenAccepted() {
+        assertDoesNotThrow(() -> validator.validateNotInPast(booking(now.minusSeconds(5)), now));
+    }
+
+    @Test
+    void validateNotInPast_whenStartInPast_thenExceptionReturned() {
+        assertThrows(BookingBadRequestException.class, () -> validator.validateNotInPast(booking(now.minusHours(1)), now));
+    }
+
+    @Test
+    void validate_whenEndEqualsStart_thenExceptionReturned() {
+        assertThrows(BookingBadRequestException.class, () -> validator.validate(ShortBookingDto.builder()
+                .itemId(1L)
+                .start(now)
+                .end(now)
+                .build()));
+    }
+
+    private ShortBookingDto booking(LocalDateTime start) {
+        return ShortBookingDto.builder()
+                .itemId(1L)
+                .start(start)
+                .end(start.plusDays(1))
+                .build();
+    }
+}
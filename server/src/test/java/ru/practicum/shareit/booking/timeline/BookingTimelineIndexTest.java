@@ -0,0 +1,159 @@
+package ru.practicum.shareit.booking.timeline;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.ShortBookingDto;
+import ru.practicum.shareit.booking.dto.TimeSlot;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.core.exception.exceptions.BookingConflictException;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingTimelineIndexTest {
+    @Mock
+    private BookingRepository bookingRepository;
+    private BookingTimelineIndex index;
+    private Item item;
+    private LocalDateTime start;
+
+    @BeforeEach
+    public void init() {
+        item = Item.builder().id(1L).build();
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+        index = new BookingTimelineIndex(bookingRepository, true);
+        when(bookingRepository.streamActiveBookings(eq(BookingTimelineIndex.ACTIVE), any())).thenReturn(Stream.of(
+            new ShortBookingDto(1L, start, start.plusHours(2), item.getId(), 2L),
+            new ShortBookingDto(2L, start.plusHours(4), start.plusHours(6), item.getId(), 2L)
+        ));
+        index.rebuild();
+    }
+
+    @Test
+    void rebuild_whenLegacyRowsOverlap_thenEveryRowStillBlocks() {
+        index = new BookingTimelineIndex(bookingRepository, true);
+        when(bookingRepository.streamActiveBookings(eq(BookingTimelineIndex.ACTIVE), any())).thenReturn(Stream.of(
+            new ShortBookingDto(1L, start, start.plusHours(10), item.getId(), 2L),
+            new ShortBookingDto(2L, start.plusHours(1), start.plusHours(2), item.getId(), 3L),
+            new ShortBookingDto(3L, start.plusHours(1), start.plusHours(4), item.getId(), 4L)
+        ));
+        index.rebuild();
+
+        assertThrows(BookingConflictException.class,
+            () -> index.reserve(booking(4L, start.plusHours(5), start.plusHours(6))));
+
+        index.release(booking(1L, start, start.plusHours(10)));
+        index.release(booking(3L, start.plusHours(1), start.plusHours(4)));
+
+        index.reserve(booking(4L, start.plusHours(5), start.plusHours(6)));
+        assertThrows(BookingConflictException.class,
+            () -> index.reserve(booking(5L, start.plusMinutes(90), start.plusHours(3))));
+    }
+
+    @Test
+    void reserve_whenIntervalFree_thenReserved() {
+        Booking between = booking(3L, start.plusHours(2), start.plusHours(4));
+
+        index.reserve(between);
+
+        assertThrows(BookingConflictException.class,
+            () -> index.reserve(booking(4L, start.plusHours(3), start.plusHours(3).plusMinutes(30))));
+        verify(bookingRepository, never()).existsOverlapping(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void reserve_whenIntervalOverlaps_thenExceptionReturned() {
+        assertThrows(BookingConflictException.class,
+            () -> index.reserve(booking(3L, start.plusHours(1), start.plusHours(5))));
+        assertThrows(BookingConflictException.class,
+            () -> index.reserve(booking(4L, start.minusHours(1), start.plusMinutes(1))));
+    }
+
+    @Test
+    void reserve_whenSameBookingReserved_thenNoConflict() {
+        index.reserve(booking(1L, start, start.plusHours(2)));
+    }
+
+    @Test
+    void release_whenBookingRejected_thenIntervalFree() {
+        index.release(booking(1L, start, start.plusHours(2)));
+
+        index.reserve(booking(3L, start, start.plusHours(1)));
+    }
+
+    @Test
+    void reserve_whenConcurrentOverlappingBookings_thenOnlyOneReserved() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (long id = 10; id < 74; id++) {
+            Booking booking = booking(id, start.plusDays(1), start.plusDays(2));
+            attempts.add(() -> {
+                try {
+                    index.reserve(booking);
+                    return true;
+                } catch (BookingConflictException e) {
+                    return false;
+                }
+            });
+        }
+
+        int reserved = 0;
+        for (Future<Boolean> attempt : executor.invokeAll(attempts)) {
+            reserved += attempt.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(1, reserved);
+    }
+
+    @Test
+    void reserve_whenIndexNotReady_thenDatabaseChecked() {
+        BookingTimelineIndex cold = new BookingTimelineIndex(bookingRepository, true);
+        Booking booking = booking(3L, start, start.plusHours(1));
+        when(bookingRepository.existsOverlapping(item.getId(), booking.getStart(), booking.getEnd(), booking.getId(),
+            BookingTimelineIndex.ACTIVE)).thenReturn(true);
+
+        assertFalse(cold.isReady());
+        assertThrows(BookingConflictException.class, () -> cold.reserve(booking));
+    }
+
+    @Test
+    void busy_whenIndexReady_thenServedWithoutDatabase() {
+        List<TimeSlot> busy = index.busy(item.getId(), start.minusDays(1), start.plusDays(1));
+
+        assertEquals(List.of(new TimeSlot(start, start.plusHours(2)), new TimeSlot(start.plusHours(4), start.plusHours(6))),
+            busy);
+        assertTrue(index.busy(99L, start, start.plusDays(1)).isEmpty());
+        verify(bookingRepository, never()).findActiveIntervals(any(), any(), any(), any());
+    }
+
+    @Test
+    void busy_whenIndexNotReady_thenIntervalsLoadedFromDatabase() {
+        BookingTimelineIndex cold = new BookingTimelineIndex(bookingRepository, true);
+        when(bookingRepository.findActiveIntervals(item.getId(), start, start.plusDays(1), BookingTimelineIndex.ACTIVE))
+            .thenReturn(List.of(new ShortBookingDto(1L, start.minusHours(1), start.plusHours(1), item.getId(), 2L)));
+
+        assertEquals(List.of(new TimeSlot(start, start.plusHours(1))), cold.busy(item.getId(), start, start.plusDays(1)));
+    }
+
+    private Booking booking(long id, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder().id(id).item(item).start(start).end(end).build();
+    }
+}
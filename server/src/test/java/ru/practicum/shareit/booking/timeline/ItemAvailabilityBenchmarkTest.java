@@ -0,0 +1,47 @@
+package ru.practicum.shareit.booking.timeline;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.TimeSlot;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@Tag("benchmark")
+public class ItemAvailabilityBenchmarkTest {
+    private static final int[] TIMELINE_SIZES = {10, 100, 1_000, 10_000, 100_000};
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    @Test
+    void busy_whenTimelineGrows_thenLatencyReported() {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+        for (int size : TIMELINE_SIZES) {
+            ItemTimeline timeline = new ItemTimeline();
+            for (int i = 0; i < size; i++) {
+                timeline.add(start.plusHours(i * 2L), start.plusHours(i * 2L + 1), i);
+            }
+            LocalDateTime from = start.plusHours(size);
+            LocalDateTime to = from.plusDays(7);
+
+            for (int i = 0; i < WARMUP; i++) {
+                timeline.busy(from, to);
+            }
+
+            long started = System.nanoTime();
+            List<TimeSlot> busy = List.of();
+            for (int i = 0; i < ITERATIONS; i++) {
+                busy = timeline.busy(from, to);
+            }
+            long averageNanos = (System.nanoTime() - started) / ITERATIONS;
+
+            assertEquals(Math.min(84, Math.max(0, size - size / 2)), busy.size());
+            log.info("Availability lookup: timeline size - {}, week range, average latency - {} ns", size, averageNanos);
+        }
+    }
+}
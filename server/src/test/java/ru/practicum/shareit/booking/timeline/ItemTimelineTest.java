@@ -0,0 +1,114 @@
+package ru.practicum.shareit.booking.timeline;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.TimeSlot;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemTimelineTest {
+    private ItemTimeline timeline;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void beforeEach() {
+        timeline = new ItemTimeline();
+        start = LocalDateTime.of(2026, 1, 1, 12, 0);
+    }
+
+    @Test
+    void add_whenAddedOutOfOrder_thenKeptSortedAndGrown() {
+        for (int i = 9; i >= 0; i--) {
+            timeline.add(start.plusHours(i * 2), start.plusHours(i * 2 + 1), i);
+        }
+
+        List<TimeSlot> busy = timeline.busy(start, start.plusDays(1));
+
+        assertEquals(10, busy.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(new TimeSlot(start.plusHours(i * 2), start.plusHours(i * 2 + 1)), busy.get(i));
+        }
+    }
+
+    @Test
+    void busy_whenAdjacentIntervals_thenMergedAndClippedToRange() {
+        timeline.add(start, start.plusHours(2), 1L);
+        timeline.add(start.plusHours(2), start.plusHours(3), 2L);
+        timeline.add(start.plusHours(5), start.plusHours(8), 3L);
+
+        List<TimeSlot> busy = timeline.busy(start.plusHours(1), start.plusHours(6));
+
+        assertEquals(List.of(new TimeSlot(start.plusHours(1), start.plusHours(3)),
+            new TimeSlot(start.plusHours(5), start.plusHours(6))), busy);
+    }
+
+    @Test
+    void busy_whenRangeOutsideIntervals_thenEmpty() {
+        timeline.add(start, start.plusHours(2), 1L);
+
+        assertTrue(timeline.busy(start.plusHours(2), start.plusHours(4)).isEmpty());
+        assertTrue(timeline.busy(start.minusHours(2), start).isEmpty());
+    }
+
+    @Test
+    void overlaps_whenSubSecondBoundaries_thenPrecisionKept() {
+        LocalDateTime end = start.plusHours(1).plusNanos(500_000);
+        timeline.add(start, end, 1L);
+
+        assertTrue(timeline.overlaps(end.minusNanos(1_000), end.plusHours(1), 2L));
+        assertFalse(timeline.overlaps(end, end.plusHours(1), 2L));
+        assertFalse(timeline.overlaps(start, end, 1L));
+    }
+
+    @Test
+    void prune_whenIntervalsEnded_thenRemovedFromHead() {
+        timeline.add(start, start.plusHours(1), 1L);
+        timeline.add(start.plusHours(2), start.plusHours(3), 2L);
+        timeline.add(start.plusHours(4), start.plusHours(5), 3L);
+
+        timeline.prune(start.plusHours(3));
+        timeline.remove(start.plusHours(4), 4L);
+
+        assertFalse(timeline.contains(start, 1L));
+        assertFalse(timeline.contains(start.plusHours(2), 2L));
+        assertTrue(timeline.contains(start.plusHours(4), 3L));
+    }
+
+    @Test
+    void overlaps_whenStoredIntervalsOverlap_thenLongIntervalNotHiddenByShortOne() {
+        timeline.add(start, start.plusHours(10), 1L);
+        timeline.add(start.plusHours(1), start.plusHours(2), 2L);
+
+        assertTrue(timeline.overlaps(start.plusHours(5), start.plusHours(6), 3L));
+        assertFalse(timeline.overlaps(start.plusHours(10), start.plusHours(11), 3L));
+        assertEquals(List.of(new TimeSlot(start.plusHours(5), start.plusHours(6))),
+            timeline.busy(start.plusHours(5), start.plusHours(6)));
+
+        timeline.prune(start.plusHours(3));
+
+        assertTrue(timeline.contains(start, 1L));
+        assertTrue(timeline.overlaps(start.plusHours(5), start.plusHours(6), 3L));
+    }
+
+    @Test
+    void add_whenSameStart_thenBothKeptAndRemovedIndependently() {
+        timeline.add(start, start.plusHours(3), 2L);
+        timeline.add(start, start.plusHours(1), 1L);
+
+        assertTrue(timeline.contains(start, 1L));
+        assertTrue(timeline.contains(start, 2L));
+
+        timeline.remove(start, 2L);
+
+        assertTrue(timeline.contains(start, 1L));
+        assertFalse(timeline.overlaps(start.plusHours(2), start.plusHours(4), 3L));
+        assertTrue(timeline.overlaps(start.plusMinutes(30), start.plusHours(2), 3L));
+
+        timeline.remove(start, 1L);
+
+        assertFalse(timeline.overlaps(start, start.plusHours(4), 3L));
+    }
+}
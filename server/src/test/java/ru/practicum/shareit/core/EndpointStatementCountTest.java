@@ -0,0 +1,173 @@
+package ru.practicum.shareit.core;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class EndpointStatementCountTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final int ITEMS = 5;
+    private static final int BOOKINGS = 10;
+    private final MockMvc mockMvc;
+    private final EntityManager entityManager;
+    private final Statistics statistics;
+    private User owner;
+    private User booker;
+    private User requester;
+    private Item requestedItem;
+    private Booking requestedBooking;
+    private ItemRequest request;
+
+    @Autowired
+    public EndpointStatementCountTest(MockMvc mockMvc, EntityManager entityManager,
+                                      EntityManagerFactory entityManagerFactory) {
+        this.mockMvc = mockMvc;
+        this.entityManager = entityManager;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        LocalDateTime now = LocalDateTime.now();
+        owner = persistUser("stats-owner");
+        booker = persistUser("stats-booker");
+        requester = persistUser("stats-requester");
+        persistItem("booker tool", booker, null);
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            request = new ItemRequest(null, "request " + i, requester, now.minusDays(ITEMS - i));
+            entityManager.persist(request);
+            items.add(persistItem("tool " + i, owner, request));
+        }
+        requestedItem = items.get(ITEMS - 1);
+
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = now.plusDays(i - BOOKINGS / 2);
+            requestedBooking = new Booking(null, start, start.plusHours(1), items.get(i % ITEMS), booker,
+                Status.APPROVED, null, 0);
+            entityManager.persist(requestedBooking);
+            entityManager.persist(new Comment(null, "comment " + i, items.get(i % ITEMS), booker, now));
+        }
+
+        entityManager.flush();
+    }
+
+    @Test
+    void bookingEndpoints_whenServed_thenStatementCountPinned() throws Exception {
+        assertStatements(1, get("/bookings/{bookingId}", requestedBooking.getId()).header(USER_HEADER, booker.getId()))
+            .andExpect(jsonPath("$.item.name", is(requestedBooking.getItem().getName())))
+            .andExpect(jsonPath("$.booker.name", is(booker.getName())));
+        assertStatements(1, get("/bookings").header(USER_HEADER, booker.getId()))
+            .andExpect(jsonPath("$", hasSize(BOOKINGS)))
+            .andExpect(jsonPath("$[0].item.request").doesNotExist());
+        assertStatements(1, get("/bookings/owner").header(USER_HEADER, owner.getId()))
+            .andExpect(jsonPath("$", hasSize(BOOKINGS)))
+            .andExpect(jsonPath("$[0].booker.name", is(booker.getName())));
+    }
+
+    @Test
+    void itemEndpoints_whenServed_thenStatementCountPinned() throws Exception {
+        assertStatements(4, get("/items/{itemId}", requestedItem.getId()).header(USER_HEADER, owner.getId()))
+            .andExpect(jsonPath("$.comments", hasSize(BOOKINGS / ITEMS)))
+            .andExpect(jsonPath("$.requestId", is(request.getId().intValue())));
+        assertStatements(2, get("/items/{itemId}", requestedItem.getId()).header(USER_HEADER, booker.getId()))
+            .andExpect(jsonPath("$.comments[0].authorName", is(booker.getName())));
+        assertStatements(3, get("/items").header(USER_HEADER, owner.getId()))
+            .andExpect(jsonPath("$", hasSize(ITEMS)))
+            .andExpect(jsonPath("$[0].comments", hasSize(BOOKINGS / ITEMS)));
+    }
+
+    @Test
+    void requestEndpoints_whenServed_thenStatementCountPinned() throws Exception {
+        assertStatements(2, get("/requests/{requestId}", request.getId()).header(USER_HEADER, requester.getId()))
+            .andExpect(jsonPath("$.items", hasSize(1)));
+        assertStatements(2, get("/requests").header(USER_HEADER, requester.getId()))
+            .andExpect(jsonPath("$", hasSize(ITEMS)))
+            .andExpect(jsonPath("$[0].items", hasSize(1)));
+        assertStatements(2, get("/requests/all").header(USER_HEADER, owner.getId()))
+            .andExpect(jsonPath("$", hasSize(ITEMS)));
+    }
+
+    @Test
+    void conditionalGets_whenNotModified_thenNoStatements() throws Exception {
+        assertNotModified(get("/users/{userId}", owner.getId()));
+        assertNotModified(get("/items/{itemId}", requestedItem.getId()).header(USER_HEADER, owner.getId()));
+        assertNotModified(get("/items/{itemId}", requestedItem.getId()).header(USER_HEADER, booker.getId()));
+        assertNotModified(get("/requests/{requestId}", request.getId()).header(USER_HEADER, requester.getId()));
+    }
+
+    private ResultActions assertStatements(int expected, RequestBuilder request) throws Exception {
+        mockMvc.perform(request).andExpect(status().isOk());
+
+        entityManager.clear();
+        statistics.clear();
+        ResultActions result = mockMvc.perform(request).andExpect(status().isOk());
+
+        assertEquals(expected, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+        return result;
+    }
+
+    private void assertNotModified(MockHttpServletRequestBuilder request) throws Exception {
+        String etag = mockMvc.perform(request)
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        statistics.clear();
+        mockMvc.perform(request.header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private User persistUser(String name) {
+        User user = User.builder().name(name).email(name + "@mail.ru").build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    private Item persistItem(String name, User owner, ItemRequest request) {
+        Item item = Item.builder()
+            .name(name)
+            .description(name)
+            .available(true)
+            .owner(owner.getId())
+            .request(request)
+            .build();
+        entityManager.persist(item);
+        return item;
+    }
+}
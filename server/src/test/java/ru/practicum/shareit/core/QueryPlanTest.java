@@ -0,0 +1,146 @@
+package ru.practicum.shareit.core;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSearch;
+import ru.practicum.shareit.booking.timeline.BookingTimelineIndex;
+import ru.practicum.shareit.item.storage.CommentRepository;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static ru.practicum.shareit.booking.model.Status.WAITING;
+import static ru.practicum.shareit.booking.service.BookingServiceImpl.FIRST;
+
+@DataJpaTest(properties = StatementRecorder.PROPERTY)
+public class QueryPlanTest {
+    private static final String TABLE_SCAN = "tableScan";
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final ItemRequestRepository requestRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public QueryPlanTest(BookingRepository bookingRepository, ItemRepository itemRepository,
+                         CommentRepository commentRepository, ItemRequestRepository requestRepository,
+                         JdbcTemplate jdbcTemplate) {
+        this.bookingRepository = bookingRepository;
+        this.itemRepository = itemRepository;
+        this.commentRepository = commentRepository;
+        this.requestRepository = requestRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueries_whenExplained_thenNoTableScan() {
+        return repositoryQueries().entrySet().stream()
+            .map(query -> DynamicTest.dynamicTest(query.getKey(), () -> assertIndexed(query.getValue())));
+    }
+
+    // ItemRepository.search is a substring match and cannot be served by a B-tree index.
+    private Map<String, Runnable> repositoryQueries() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+
+        for (BookingState state : BookingState.values()) {
+            queries.put("search booker " + state, () -> bookingRepository.search(BookingSearch.builder()
+                .bookerId(1L)
+                .state(state)
+                .build(), PAGE));
+            queries.put("search owner " + state, () -> bookingRepository.search(BookingSearch.builder()
+                .ownerId(1L)
+                .state(state)
+                .ascending(state == BookingState.CURRENT)
+                .build(), PAGE));
+        }
+        queries.put("findLastBookingByItemId", () -> bookingRepository.findLastBookingByItemId(1L, now, FIRST));
+        queries.put("findNextBookingByItemId", () -> bookingRepository.findNextBookingByItemId(1L, now, FIRST));
+        queries.put("findLastAndNextBookingsByItemIds",
+            () -> bookingRepository.findLastAndNextBookingsByItemIds(List.of(1L, 2L), now));
+        queries.put("existsOverlapping",
+            () -> bookingRepository.existsOverlapping(1L, now, now.plusDays(1), 1L, BookingTimelineIndex.ACTIVE));
+        queries.put("findActiveIntervals",
+            () -> bookingRepository.findActiveIntervals(1L, now, now.plusDays(1), BookingTimelineIndex.ACTIVE));
+        queries.put("findBookingsToAddComment", () -> bookingRepository.findBookingsToAddComment(1L, 1L, now));
+        queries.put("findByRequestIdIn", () -> itemRepository.findByRequestIdIn(List.of(1L, 2L)));
+        queries.put("findByOwner", () -> itemRepository.findByOwner(1L, 1L, PAGE));
+        queries.put("existsByOwner", () -> itemRepository.existsByOwner(1L));
+        queries.put("findAllByItemIdIn", () -> commentRepository.findAllByItemIdIn(List.of(1L, 2L)));
+        queries.put("findByRequesterId",
+            () -> requestRepository.findByRequesterId(1L, Sort.by("created").descending()));
+        queries.put("findByRequesterIdIsNot",
+            () -> requestRepository.findByRequesterIdIsNot(1L, now, 1L, PAGE));
+
+        return queries;
+    }
+
+    private void assertIndexed(Runnable query) {
+        StatementRecorder.clear();
+        query.run();
+        List<String> statements = StatementRecorder.statements();
+
+        assertFalse(statements.isEmpty());
+        for (String sql : statements) {
+            String plan = explain(sql);
+            assertFalse(plan.contains(TABLE_SCAN), () -> "Sequential scan in plan:\n" + plan);
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                bindSampleParameters(statement);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    List<String> lines = new ArrayList<>();
+                    while (resultSet.next()) {
+                        lines.add(resultSet.getString(1));
+                    }
+                    return String.join("\n", lines);
+                }
+            }
+        });
+    }
+
+    private void bindSampleParameters(PreparedStatement statement) throws SQLException {
+        ParameterMetaData metaData = statement.getParameterMetaData();
+        for (int i = 1; i <= metaData.getParameterCount(); i++) {
+            switch (metaData.getParameterType(i)) {
+                case Types.TIMESTAMP:
+                    statement.setTimestamp(i, Timestamp.valueOf(LocalDateTime.now()));
+                    break;
+                case Types.VARCHAR:
+                    statement.setString(i, WAITING.name());
+                    break;
+                case Types.BOOLEAN:
+                    statement.setBoolean(i, true);
+                    break;
+                default:
+                    statement.setLong(i, 1L);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.core.caching;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@Slf4j
+@Tag("benchmark")
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "logging.level.ru.practicum.shareit.item=WARN")
+public class ConditionalGetBenchmarkTest {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final int COMMENTS = 50;
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 10_000;
+    private final MockMvc mockMvc;
+    private final EntityManager entityManager;
+    private User owner;
+    private Item item;
+
+    @Autowired
+    public ConditionalGetBenchmarkTest(MockMvc mockMvc, EntityManager entityManager) {
+        this.mockMvc = mockMvc;
+        this.entityManager = entityManager;
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        LocalDateTime now = LocalDateTime.now();
+        owner = User.builder().name("owner").email("bench-owner@mail.ru").build();
+        User booker = User.builder().name("booker").email("bench-booker@mail.ru").build();
+        entityManager.persist(owner);
+        entityManager.persist(booker);
+        item = Item.builder().name("drill").description("drill").available(true).owner(owner.getId()).build();
+        entityManager.persist(item);
+
+        for (int i = 0; i < COMMENTS; i++) {
+            entityManager.persist(new Booking(null, now.plusDays(i - COMMENTS / 2), now.plusDays(i - COMMENTS / 2)
+                .plusHours(1), item, booker, Status.APPROVED, null, 0));
+            entityManager.persist(new Comment(null, "comment " + i, item, booker, now));
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void getItem_whenNotModified_thenFasterThanFullRead() throws Exception {
+        MockHttpServletRequestBuilder request = get("/items/{itemId}", item.getId()).header(USER_HEADER, owner.getId());
+        String etag = mockMvc.perform(request).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        long full = measure("full read", request, 200);
+        long conditional = measure("if-none-match", request.header(HttpHeaders.IF_NONE_MATCH, etag), 304);
+
+        assertTrue(conditional * 2 < full);
+    }
+
+    private long measure(String mode, MockHttpServletRequestBuilder request, int expectedStatus) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            mockMvc.perform(request);
+        }
+
+        long started = System.nanoTime();
+        int bytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            byte[] body = mockMvc.perform(request).andReturn().getResponse().getContentAsByteArray();
+            bytes = body.length;
+        }
+        long averageMicros = (System.nanoTime() - started) / ITERATIONS / 1_000;
+        int status = mockMvc.perform(request).andReturn().getResponse().getStatus();
+
+        assertEquals(expectedStatus, status);
+        log.info("Item read: mode - {}, comments - {}, response - {} bytes, average latency - {} us",
+            mode, COMMENTS, bytes, averageMicros);
+        return averageMicros;
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.core.caching;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResourceVersionsTest {
+    private ResourceVersions versions;
+
+    @BeforeEach
+    public void init() {
+        versions = new ResourceVersions(100);
+    }
+
+    @AfterEach
+    public void clear() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void current_whenNotChanged_thenSameVersion() {
+        ResourceVersion version = versions.current(ResourceVersions.ITEMS, 1L);
+
+        assertEquals(version.getEtag(), versions.current(ResourceVersions.ITEMS, 1L).getEtag());
+        assertNotEquals(version.getEtag(), versions.current(ResourceVersions.USERS, 1L).getEtag());
+        assertTrue(version.getEtag().startsWith("W/\""));
+    }
+
+    @Test
+    void changed_whenResourceChanged_thenNewTagAndLaterLastModified() {
+        ResourceVersion version = versions.current(ResourceVersions.ITEMS, 1L);
+
+        versions.changed(ResourceVersions.ITEMS, 1L);
+        ResourceVersion changed = versions.current(ResourceVersions.ITEMS, 1L);
+
+        assertNotEquals(version.getEtag(), changed.getEtag());
+        assertTrue(changed.getLastModified() > version.getLastModified());
+    }
+
+    @Test
+    void changed_whenInTransaction_thenAppliedAfterCommit() {
+        ResourceVersion version = versions.current(ResourceVersions.REQUESTS, 1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        versions.changed(ResourceVersions.REQUESTS, 1L);
+        assertEquals(version.getEtag(), versions.current(ResourceVersions.REQUESTS, 1L).getEtag());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNotEquals(version.getEtag(), versions.current(ResourceVersions.REQUESTS, 1L).getEtag());
+    }
+
+    @Test
+    void changedAll_whenInvoked_thenEveryVersionReplaced() {
+        ResourceVersion user = versions.current(ResourceVersions.USERS, 1L);
+        ResourceVersion item = versions.current(ResourceVersions.ITEMS, 1L);
+
+        versions.changedAll();
+
+        assertNotEquals(user.getEtag(), versions.current(ResourceVersions.USERS, 1L).getEtag());
+        assertTrue(versions.current(ResourceVersions.ITEMS, 1L).getLastModified() > item.getLastModified());
+    }
+
+    @Test
+    void isNotModified_whenTagsMatch_thenTrue() {
+        ResourceVersion version = versions.current(ResourceVersions.ITEMS, 1L).forViewer(2L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+        request.addHeader("If-None-Match", version.getEtag());
+
+        assertTrue(version.isNotModified(request));
+        assertFalse(versions.current(ResourceVersions.ITEMS, 1L).forViewer(3L).isNotModified(request));
+        assertFalse(version.isNotModified(new MockHttpServletRequest("GET", "/items/1")));
+    }
+}
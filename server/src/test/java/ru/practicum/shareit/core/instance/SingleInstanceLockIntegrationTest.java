@@ -0,0 +1,85 @@
+package ru.practicum.shareit.core.instance;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SingleInstanceLockIntegrationTest {
+    private static final String URL = "jdbc:h2:mem:instance-lock;DB_CLOSE_DELAY=-1";
+    private static final Map<Long, Integer> ADVISORY_LOCKS = new ConcurrentHashMap<>();
+    private ConfigurableApplicationContext first;
+
+    @BeforeAll
+    static void beforeAll() throws SQLException {
+        // H2 has no advisory locks: emulate the two PostgreSQL functions per session.
+        String type = SingleInstanceLockIntegrationTest.class.getName();
+        try (Connection connection = DriverManager.getConnection(URL, "test", "test");
+             Statement statement = connection.createStatement()) {
+            statement.execute("create alias if not exists pg_try_advisory_lock for '" + type + ".tryAdvisoryLock'");
+            statement.execute("create alias if not exists pg_advisory_unlock for '" + type + ".advisoryUnlock'");
+        }
+    }
+
+    @AfterEach
+    void afterEach() {
+        if (first != null) {
+            first.close();
+        }
+    }
+
+    @Test
+    void start_whenAnotherInstanceHoldsLock_thenFailsBeforeSchemaInitialization() {
+        first = start();
+        UserRepository users = first.getBean(UserRepository.class);
+        User user = users.save(User.builder().name("first").email("first-instance@mail.ru").build());
+
+        assertThrows(Exception.class, SingleInstanceLockIntegrationTest::start);
+
+        assertTrue(users.existsById(user.getId()));
+
+        first.close();
+        first = null;
+        start().close();
+    }
+
+    public static boolean tryAdvisoryLock(Connection connection, long key) throws SQLException {
+        int session = sessionId(connection);
+        return ADVISORY_LOCKS.computeIfAbsent(key, ignored -> session) == session;
+    }
+
+    public static boolean advisoryUnlock(Connection connection, long key) throws SQLException {
+        return ADVISORY_LOCKS.remove(key, sessionId(connection));
+    }
+
+    private static int sessionId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("select session_id()")) {
+            result.next();
+            return result.getInt(1);
+        }
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(ShareItServer.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .run("--spring.datasource.url=" + URL, "--shareit.instance-lock.enabled=true");
+    }
+}
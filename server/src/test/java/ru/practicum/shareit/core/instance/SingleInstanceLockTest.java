@@ -0,0 +1,79 @@
+package ru.practicum.shareit.core.instance;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SingleInstanceLockTest {
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+    @Mock
+    private ResultSet result;
+    private final SingleInstanceLock lock = new SingleInstanceLock();
+
+    @BeforeEach
+    public void init() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(result);
+        when(result.next()).thenReturn(true);
+    }
+
+    @Test
+    void acquire_whenLockFree_thenConnectionHeldUntilUnlockedAndClosed() throws SQLException {
+        when(result.getBoolean(1)).thenReturn(true);
+
+        lock.acquire(dataSource);
+
+        verify(statement).setLong(1, SingleInstanceLock.LOCK_KEY);
+        verify(connection, never()).close();
+
+        lock.destroy();
+
+        InOrder order = inOrder(connection);
+        order.verify(connection).prepareStatement("select pg_advisory_unlock(?)");
+        order.verify(connection).close();
+    }
+
+    @Test
+    void acquire_whenAnotherInstanceHoldsLock_thenStartupFails() throws SQLException {
+        when(result.getBoolean(1)).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> lock.acquire(dataSource));
+
+        verify(connection).close();
+        verify(connection, never()).prepareStatement("select pg_advisory_unlock(?)");
+    }
+
+    @Test
+    void destroy_whenConnectionAlreadyClosed_thenNoUnlock() throws SQLException {
+        when(result.getBoolean(1)).thenReturn(true);
+        lock.acquire(dataSource);
+        when(connection.isClosed()).thenReturn(true);
+
+        lock.destroy();
+
+        verify(connection, never()).prepareStatement("select pg_advisory_unlock(?)");
+    }
+}
@@ -7,11 +7,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.TimeSlot;
+import ru.practicum.shareit.core.caching.ResourceVersions;
 import ru.practicum.shareit.core.exception.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.core.exception.exceptions.UserNotFoundException;
+import ru.practicum.shareit.core.pagination.Cursor;
+import ru.practicum.shareit.core.pagination.CursorPage;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 
@@ -24,6 +30,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = ItemController.class)
+@Import(ResourceVersions.class)
 @AutoConfigureMockMvc
 public class ItemControllerTest {
     private ObjectMapper objectMapper;
@@ -111,7 +118,7 @@ public class ItemControllerTest {
     @Test
     public void findAll_whenInvoked_thenStatus200andReturnItemList() throws Exception {
         List<ItemDto> expectedItems = List.of(itemDto);
-        when(itemService.findAll(anyLong(), anyInt(), anyInt())).thenReturn(expectedItems);
+        when(itemService.findAll(anyLong(), anyInt(), isNull(), anyInt())).thenReturn(new CursorPage<>(expectedItems, null));
 
         mockMvc.perform(
                 get("/items")
@@ -119,22 +126,39 @@ public class ItemControllerTest {
             .andExpect(status().isOk())
             .andExpect(content().json(objectMapper.writeValueAsString(List.of(itemDto))));
 
-        verify(itemService, times(1)).findAll(anyLong(), anyInt(), anyInt());
+        verify(itemService, times(1)).findAll(anyLong(), anyInt(), isNull(), anyInt());
     }
 
     @Test
     public void search_whenInvoked_thenStatus200andReturnItemList() throws Exception {
         List<ItemDto> expectedItems = List.of(itemDto);
-        when(itemService.search(anyLong(), anyString(), anyInt(), anyInt())).thenReturn(expectedItems);
+        when(itemService.search(anyLong(), anyString(), anyInt(), isNull(), anyInt()))
+            .thenReturn(new CursorPage<>(expectedItems, null));
 
         mockMvc.perform(
                 get("/items/search")
                     .header("X-Sharer-User-Id", 1)
                     .param("text", "t"))
             .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(Cursor.NEXT_CURSOR_HEADER))
             .andExpect(content().json(objectMapper.writeValueAsString(List.of(itemDto))));
 
-        verify(itemService, times(1)).search(anyLong(), anyString(), anyInt(), anyInt());
+        verify(itemService, times(1)).search(anyLong(), anyString(), anyInt(), isNull(), anyInt());
+    }
+
+    @Test
+    public void search_whenCursorGiven_thenNextCursorHeaderReturned() throws Exception {
+        when(itemService.search(anyLong(), anyString(), anyInt(), eq("abc"), anyInt()))
+            .thenReturn(new CursorPage<>(List.of(itemDto), "def"));
+
+        mockMvc.perform(
+                get("/items/search")
+                    .header("X-Sharer-User-Id", 1)
+                    .param("text", "t")
+                    .param("cursor", "abc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(Cursor.NEXT_CURSOR_HEADER, "def"))
+            .andExpect(content().json(objectMapper.writeValueAsString(List.of(itemDto))));
     }
 
     @Test
@@ -163,4 +187,26 @@ public class ItemControllerTest {
                     .contentType(MediaType.APPLICATION_JSON))
             .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAvailability_whenInvoked_thenBusyAndFreeSlotsReturned() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2027, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder()
+            .itemId(1L)
+            .from(from)
+            .to(to)
+            .busy(List.of(new TimeSlot(from, from.plusHours(2))))
+            .free(List.of(new TimeSlot(from.plusHours(2), to)))
+            .build();
+        when(itemService.getAvailability(1L, 1L, from, to)).thenReturn(availability);
+
+        mockMvc.perform(
+                get("/items/{itemId}/availability", 1)
+                    .header("X-Sharer-User-Id", 1)
+                    .param("from", "2027-01-01T00:00:00")
+                    .param("to", "2027-01-02T00:00:00"))
+            .andExpect(status().isOk())
+            .andExpect(content().json(objectMapper.writeValueAsString(availability)));
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.core.pagination.CursorPage;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemTrigramIndexTest {
+    @Mock
+    private ItemRepository itemRepository;
+    private ItemTrigramIndex index;
+
+    @BeforeEach
+    public void init() {
+        index = new ItemTrigramIndex(itemRepository, true);
+        when(itemRepository.streamSearchDocuments()).thenReturn(Stream.of(
+            new ItemSearchDocument(1L, "Дрель", "Простая дрель", true),
+            new ItemSearchDocument(2L, "Аккумуляторная дрель", "С зарядкой", true),
+            new ItemSearchDocument(3L, "Отвертка", "Аккумуляторная отвертка, не дрель", true),
+            new ItemSearchDocument(4L, "Дрель ударная", "Сломана", false)
+        ));
+        index.rebuild();
+    }
+
+    @Test
+    void rebuild_whenDocumentsStreamed_thenIndexReady() {
+        assertTrue(index.isReady());
+    }
+
+    @Test
+    void search_whenSubstringMatches_thenAvailableIdsRankedByName() {
+        CursorPage<Long> page = index.search("дРЕль", 0, null, 10);
+
+        assertEquals(List.of(1L, 2L, 3L), page.getContent());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void search_whenTextShorterThanTrigram_thenDocumentsScanned() {
+        assertEquals(List.of(1L, 2L, 3L), index.search("ль", 0, null, 10).getContent());
+    }
+
+    @Test
+    void search_whenNoTrigramMatches_thenEmptyPageReturned() {
+        assertTrue(index.search("пила", 0, null, 10).getContent().isEmpty());
+    }
+
+    @Test
+    void search_whenPageIsFull_thenCursorResumesAfterLastId() {
+        CursorPage<Long> first = index.search("дрель", 0, null, 2);
+        CursorPage<Long> second = index.search("дрель", 0, SearchPosition.fromCursor(first.getNextCursor()), 2);
+
+        assertEquals(List.of(1L, 2L), first.getContent());
+        assertEquals(List.of(3L), second.getContent());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void search_whenOffsetNotMultipleOfSize_thenPageStartsAtOffset() {
+        assertEquals(List.of(2L, 3L), index.search("дрель", 1, null, 2).getContent());
+    }
+
+    @Test
+    void index_whenItemUpdated_thenOldTextNoLongerMatches() {
+        index.index(new Item(1L, "Перфоратор", "Мощный", true, 1L, null, 0L));
+
+        assertEquals(List.of(2L, 3L), index.search("дрель", 0, null, 10).getContent());
+        assertEquals(List.of(1L), index.search("перфо", 0, null, 10).getContent());
+    }
+
+    @Test
+    void remove_whenItemRemoved_thenItemNotFound() {
+        index.remove(2L);
+
+        assertEquals(List.of(1L, 3L), index.search("дрель", 0, null, 10).getContent());
+    }
+
+    @Test
+    void index_whenItemReplacedAndRemoved_thenStalePostingsPurged() {
+        int trigrams = index.trigramCount();
+
+        index.index(new Item(5L, "Бензопила", "Цепная", true, 1L, null, 0L));
+        index.index(new Item(5L, "Пила", "Ручная", true, 1L, null, 0L));
+        index.remove(5L);
+
+        assertEquals(trigrams, index.trigramCount());
+        assertTrue(index.search("пила", 0, null, 10).getContent().isEmpty());
+    }
+
+    @Test
+    void index_whenDisabled_thenNothingIndexed() {
+        ItemTrigramIndex disabled = new ItemTrigramIndex(itemRepository, false);
+
+        disabled.rebuild();
+        disabled.index(new Item(5L, "Дрель", "Новая", true, 1L, null, 0L));
+
+        assertFalse(disabled.isReady());
+        assertTrue(disabled.search("дрель", 0, null, 10).getContent().isEmpty());
+    }
+}
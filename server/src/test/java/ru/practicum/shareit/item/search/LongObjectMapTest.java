@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongObjectMapTest {
+    @Test
+    void put_whenKeyExists_thenValueReplaced() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+
+        assertNull(map.put(1L, "a"));
+        assertEquals("a", map.put(1L, "b"));
+        assertEquals("b", map.get(1L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void remove_whenRandomOperations_thenSameAsHashMap() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000) - 100;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = -100; key < 4_900; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    void remove_whenAllKeysRemoved_thenCapacityShrinks() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        for (long key = 0; key < 10_000; key++) {
+            map.put(key, key);
+        }
+        int grown = map.capacity();
+
+        for (long key = 0; key < 10_000; key++) {
+            map.remove(key);
+        }
+
+        assertEquals(0, map.size());
+        assertTrue(map.capacity() < grown);
+    }
+}
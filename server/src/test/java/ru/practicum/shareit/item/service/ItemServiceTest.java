@@ -7,15 +7,26 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.TimeSlot;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.timeline.BookingTimelineIndex;
+import ru.practicum.shareit.core.caching.ResourceVersions;
+import ru.practicum.shareit.core.exception.exceptions.ItemBadRequestException;
 import ru.practicum.shareit.core.exception.exceptions.ItemNotFoundException;
+import ru.practicum.shareit.core.exception.exceptions.PaginationBadRequestException;
 import ru.practicum.shareit.core.exception.exceptions.UserNotFoundException;
+import ru.practicum.shareit.core.pagination.CursorPage;
+import ru.practicum.shareit.core.pagination.OffsetPageRequest;
+import ru.practicum.shareit.core.transaction.ConflictRetry;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemTrigramIndex;
+import ru.practicum.shareit.item.search.SearchRank;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -29,12 +40,16 @@ import ru.practicum.shareit.user.service.UserServiceImpl;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,6 +66,16 @@ public class ItemServiceTest {
     private BookingServiceImpl bookingService;
     @Mock
     private ItemRequestServiceImpl requestService;
+    @Mock
+    private ItemTrigramIndex searchIndex;
+    @Mock
+    private ConflictRetry conflictRetry;
+    @Mock
+    private BookingTimelineIndex timelineIndex;
+    @Spy
+    private ResourceVersions versions = new ResourceVersions(100);
+    @Spy
+    private ItemOwnerCache ownerCache = new ItemOwnerCache(100);
     @InjectMocks
     private ItemServiceImpl itemService;
     private long itemId;
@@ -71,7 +96,7 @@ public class ItemServiceTest {
         userDto = UserMapper.toUserDto(user);
 
         itemId = 1L;
-        expectedItem = new Item(itemId, "tool", "cool tool", true, userId, null);
+        expectedItem = new Item(itemId, "tool", "cool tool", true, userId, null, 0L);
 
         notOwner = new User(2L, "fake", "fake@mail.ru");
         notOwnerDto = UserMapper.toUserDto(notOwner);
@@ -96,6 +121,7 @@ public class ItemServiceTest {
         assertEquals(expectedItem.getDescription(), actual.getDescription());
         assertEquals(expectedItem.getAvailable(), actual.getAvailable());
         verify(itemRepository).save(any(Item.class));
+        verify(searchIndex).index(expectedItem);
     }
 
     @Test
@@ -151,13 +177,14 @@ public class ItemServiceTest {
         assertEquals(expectedComment.getCreated(), actual.getCreated());
         assertEquals(expectedComment.getText(), actual.getText());
         verify(commentRepository).save(any(Comment.class));
+        verify(versions).changed(ResourceVersions.ITEMS, itemId);
     }
 
     @Test
     void findItemById_whenCommentsNotEmpty_thenItemReturned() {
         when(commentRepository.save(any())).thenReturn(expectedComment);
         List<Comment> comments = List.of(expectedComment);
-        when(commentRepository.findAllByItemId(itemId)).thenReturn(comments);
+        when(commentRepository.findAllByItemIdIn(List.of(itemId))).thenReturn(comments);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(expectedItem));
 
         CommentDto commentDto = CommentMapper.toCommentDto(expectedComment);
@@ -169,6 +196,37 @@ public class ItemServiceTest {
         assertEquals(commentDto.getText(), actual.getComments().get(0).getText());
     }
 
+    @Test
+    void findAll_whenItemsHaveComments_thenCommentsLoadedWithOneQuery() {
+        Item otherItem = new Item(2L, "egg", "so-so", true, userId, null, 0L);
+        Pageable pageable = new OffsetPageRequest(3, 10);
+        when(itemRepository.findByOwner(userId, 0L, pageable)).thenReturn(List.of(expectedItem, otherItem));
+        when(commentRepository.findAllByItemIdIn(List.of(itemId, otherItem.getId())))
+            .thenReturn(List.of(expectedComment));
+
+        List<ItemDto> actual = itemService.findAll(userId, 3, null, 10).getContent();
+
+        assertEquals(2, actual.size());
+        assertEquals(itemId, actual.get(0).getId());
+        assertEquals(expectedComment.getText(), actual.get(0).getComments().get(0).getText());
+        assertTrue(actual.get(1).getComments().isEmpty());
+        verify(commentRepository, times(1)).findAllByItemIdIn(anyCollection());
+        verify(bookingService, times(1)).fillItemsWithBookings(anyCollection());
+    }
+
+    @Test
+    void findAll_whenPageIsFull_thenCursorSeeksAfterLastItem() {
+        when(itemRepository.findByOwner(userId, 0L, new OffsetPageRequest(0, 1))).thenReturn(List.of(expectedItem));
+        when(itemRepository.findByOwner(userId, itemId, PageRequest.of(0, 1))).thenReturn(List.of());
+
+        CursorPage<ItemDto> first = itemService.findAll(userId, 0, null, 1);
+        CursorPage<ItemDto> second = itemService.findAll(userId, 0, first.getNextCursor(), 1);
+
+        assertEquals(1, first.getContent().size());
+        assertTrue(second.getContent().isEmpty());
+        assertNull(second.getNextCursor());
+    }
+
     @Test
     void findItemById_whenItemNotFound_thenExceptionReturned() {
         when(itemRepository.findById(itemId)).thenReturn(Optional.empty());
@@ -184,11 +242,12 @@ public class ItemServiceTest {
     @Test
     void search_whenItemsFound_thenItemListReturned() {
         expectedItem.setOwner(null);
-        Pageable pageable = PageRequest.of(0, 10);
+        Pageable pageable = new OffsetPageRequest(5, 10);
         List<Item> items = List.of(expectedItem);
         when(itemRepository.search("tool", pageable)).thenReturn(items);
 
-        List<Item> actualItems = itemService.search(userId, "tool", 0, 10)
+        List<Item> actualItems = itemService.search(userId, "tool", 5, null, 10)
+            .getContent()
             .stream()
             .map(ItemMapper::toItem)
             .collect(Collectors.toList());
@@ -198,11 +257,51 @@ public class ItemServiceTest {
         verify(itemRepository, times(1)).search("tool", pageable);
     }
 
+    @Test
+    void search_whenPageIsFull_thenCursorResumesAfterLastItem() {
+        Item otherItem = new Item(2L, "hammer", "heavy tool", true, userId, null, 0L);
+        when(itemRepository.search("tool", new OffsetPageRequest(0, 2))).thenReturn(List.of(expectedItem, otherItem));
+        when(itemRepository.searchAfter("tool", SearchRank.DESCRIPTION, otherItem.getId(), PageRequest.of(0, 2)))
+            .thenReturn(List.of());
+
+        CursorPage<ItemDto> first = itemService.search(userId, "tool", 0, null, 2);
+        CursorPage<ItemDto> second = itemService.search(userId, "tool", 0, first.getNextCursor(), 2);
+
+        assertEquals(2, first.getContent().size());
+        assertNotNull(first.getNextCursor());
+        assertTrue(second.getContent().isEmpty());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void search_whenCursorMalformed_thenExceptionReturned() {
+        assertThrows(PaginationBadRequestException.class, () -> itemService.search(userId, "tool", 0, "%%%", 10));
+    }
+
+    @Test
+    void search_whenIndexReady_thenItemsLoadedInIndexOrder() {
+        Item otherItem = new Item(2L, "hammer", "heavy tool", true, userId, null, 0L);
+        when(searchIndex.isReady()).thenReturn(true);
+        when(searchIndex.search("tool", 0, null, 10)).thenReturn(new CursorPage<>(List.of(2L, 1L, 3L), null));
+        when(itemRepository.findAllById(List.of(2L, 1L, 3L))).thenReturn(List.of(expectedItem, otherItem));
+
+        List<Long> actualIds = itemService.search(userId, "tool", 0, null, 10)
+            .getContent()
+            .stream()
+            .map(ItemDto::getId)
+            .collect(Collectors.toList());
+
+        assertEquals(List.of(2L, 1L), actualIds);
+        verify(searchIndex, times(1)).remove(3L);
+        verify(itemRepository, never()).search(any(), any());
+    }
+
     @Test
     void search_whenTextIsNull_thenEmptyListReturned() {
         List<Item> items = new ArrayList<>();
 
-        List<Item> actualItems = itemService.search(userId, null, 0, 10)
+        List<Item> actualItems = itemService.search(userId, null, 0, null, 10)
+            .getContent()
             .stream()
             .map(ItemMapper::toItem)
             .collect(Collectors.toList());
@@ -219,6 +318,7 @@ public class ItemServiceTest {
         updatedItem.setAvailable(false);
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(expectedItem));
         when(itemRepository.save(any())).thenReturn(expectedItem);
+        when(conflictRetry.execute(any())).thenAnswer(invocation -> invocation.<Supplier<ItemDto>>getArgument(0).get());
 
         itemService.save(userId, ItemMapper.toItemDto(expectedItem));
         itemService.update(userId, itemId, ItemMapper.toItemDto(updatedItem));
@@ -229,6 +329,7 @@ public class ItemServiceTest {
         assertEquals("Upd", savedItem.getName());
         assertEquals("upd", savedItem.getDescription());
         assertEquals(false, savedItem.getAvailable());
+        verify(versions).changed(ResourceVersions.ITEMS, itemId);
     }
 
     @Test
@@ -237,6 +338,7 @@ public class ItemServiceTest {
         updatedItem.setName("Upd");
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(expectedItem));
         when(itemRepository.save(any())).thenReturn(expectedItem);
+        when(conflictRetry.execute(any())).thenAnswer(invocation -> invocation.<Supplier<ItemDto>>getArgument(0).get());
 
         itemService.save(userId, ItemMapper.toItemDto(expectedItem));
 
@@ -244,7 +346,7 @@ public class ItemServiceTest {
     }
 
     @Test
-    void getItemsByRequestId_whenInvoked_thenReturnList() {
+    void getItemsByRequestIds_whenInvoked_thenItemsGroupedByRequest() {
         ItemRequest request = new ItemRequest(
             1L,
             "want this",
@@ -254,10 +356,12 @@ public class ItemServiceTest {
 
         expectedItem.setRequest(request);
         List<ItemDtoInRequest> expected = List.of(ItemMapper.toItemDtoInRequest(expectedItem));
-        when(itemRepository.findByRequestId(1L)).thenReturn(List.of(expectedItem));
+        when(itemRepository.findByRequestIdIn(List.of(1L, 2L))).thenReturn(List.of(expectedItem));
 
-        List<ItemDtoInRequest> actual = itemService.getItemsByRequestId(1L);
+        Map<Long, List<ItemDtoInRequest>> actualByRequestId = itemService.getItemsByRequestIds(List.of(1L, 2L));
+        List<ItemDtoInRequest> actual = actualByRequestId.get(1L);
 
+        assertEquals(1, actualByRequestId.size());
         assertEquals(actual.size(), expected.size());
         assertEquals(actual.get(0).getDescription(), expected.get(0).getDescription());
         assertEquals(actual.get(0).getRequestId(), expected.get(0).getRequestId());
@@ -265,12 +369,106 @@ public class ItemServiceTest {
         assertEquals(actual.get(0).getAvailable(), expected.get(0).getAvailable());
     }
 
+    @Test
+    void getItemsByRequestIds_whenNoRequests_thenRepositoryNotCalled() {
+        assertTrue(itemService.getItemsByRequestIds(List.of()).isEmpty());
+        verify(itemRepository, never()).findByRequestIdIn(anyCollection());
+    }
+
     @Test
     void hasUserZeroItems_whenZero_thenReturnTrue() {
-        List<Item> items = List.of();
-        when(itemRepository.findAll()).thenReturn(items);
+        when(itemRepository.existsByOwner(2L)).thenReturn(false);
         boolean actual = itemService.hasUserZeroItems(2L);
 
         assertTrue(actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void hasUserZeroItems_whenOwnerSavedItem_thenRepositoryNotQueried() {
+        when(itemRepository.save(any())).thenReturn(expectedItem);
+
+        itemService.save(userId, ItemMapper.toItemDto(expectedItem));
+        boolean actual = itemService.hasUserZeroItems(userId);
+
+        assertFalse(actual);
+        verify(itemRepository, never()).existsByOwner(anyLong());
+    }
+
+    @Test
+    void hasUserZeroItems_whenOwnerFound_thenAnswerCached() {
+        when(itemRepository.existsByOwner(userId)).thenReturn(true);
+
+        assertFalse(itemService.hasUserZeroItems(userId));
+        assertFalse(itemService.hasUserZeroItems(userId));
+
+        verify(itemRepository, times(1)).existsByOwner(userId);
+    }
+
+    @Test
+    void hasUserZeroItems_whenOwnerInvalidated_thenRepositoryQueriedAgain() {
+        when(itemRepository.existsByOwner(userId)).thenReturn(true, false);
+
+        assertFalse(itemService.hasUserZeroItems(userId));
+        ownerCache.invalidate(userId);
+
+        assertTrue(itemService.hasUserZeroItems(userId));
+        verify(itemRepository, times(2)).existsByOwner(userId);
+    }
+
+    @Test
+    void getAvailability_whenItemExists_thenFreeSlotsComplementBusy() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        LocalDateTime to = from.plusDays(1);
+        List<TimeSlot> busy = List.of(new TimeSlot(from, from.plusHours(2)),
+            new TimeSlot(from.plusHours(5), from.plusHours(6)));
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(timelineIndex.busy(itemId, from, to)).thenReturn(busy);
+
+        ItemAvailabilityDto actual = itemService.getAvailability(userId, itemId, from, to);
+
+        assertEquals(busy, actual.getBusy());
+        assertEquals(List.of(new TimeSlot(from.plusHours(2), from.plusHours(5)), new TimeSlot(from.plusHours(6), to)),
+            actual.getFree());
+        verify(userService, times(1)).checkUserExists(userId);
+        verifyNoInteractions(searchIndex);
+    }
+
+    @Test
+    void getAvailability_whenRangeStartsInPast_thenClampedToNow() {
+        LocalDateTime to = LocalDateTime.now().plusDays(1);
+        when(itemRepository.existsById(itemId)).thenReturn(true);
+        when(timelineIndex.busy(eq(itemId), any(), eq(to))).thenReturn(List.of());
+
+        ItemAvailabilityDto actual = itemService.getAvailability(userId, itemId, to.minusDays(3), to);
+
+        assertTrue(actual.getFrom().isAfter(to.minusDays(2)));
+        assertEquals(List.of(new TimeSlot(actual.getFrom(), to)), actual.getFree());
+    }
+
+    @Test
+    void getAvailability_whenItemNotExists_thenExceptionReturned() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        when(itemRepository.existsById(itemId)).thenReturn(false);
+
+        assertThrows(ItemNotFoundException.class,
+            () -> itemService.getAvailability(userId, itemId, from, from.plusDays(1)));
+    }
+
+    @Test
+    void getAvailability_whenUserNotExists_thenExceptionReturned() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+        doThrow(UserNotFoundException.class).when(userService).checkUserExists(userId);
+
+        assertThrows(UserNotFoundException.class,
+            () -> itemService.getAvailability(userId, itemId, from, from.plusDays(1)));
+        verifyNoInteractions(timelineIndex);
+    }
+
+    @Test
+    void getAvailability_whenRangeInverted_thenExceptionReturned() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+
+        assertThrows(ItemBadRequestException.class, () -> itemService.getAvailability(userId, itemId, from, from));
+        verifyNoInteractions(timelineIndex);
+    }
+}
@@ -7,11 +7,14 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.SearchRank;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 public class ItemRepositoryTest {
@@ -53,6 +56,8 @@ public class ItemRepositoryTest {
     @Test
     void search() {
         this.entityManager.persist(user);
+        foundItem.setOwner(user.getId());
+        incorrectItem.setOwner(user.getId());
         this.entityManager.persist(foundItem);
         this.entityManager.persist(incorrectItem);
         List<Item> actual = itemRepository.search("tool", PageRequest.of(0, 10));
@@ -60,4 +65,71 @@ public class ItemRepositoryTest {
         assertEquals(1, actual.size());
         assertEquals("tool", actual.get(0).getName());
     }
-}
\ No newline at end of file
+
+    @Test
+    void existsByOwner() {
+        this.entityManager.persist(user);
+        foundItem.setOwner(user.getId());
+        this.entityManager.persist(foundItem);
+
+        assertTrue(itemRepository.existsByOwner(user.getId()));
+        assertFalse(itemRepository.existsByOwner(user.getId() + 1));
+    }
+
+    @Test
+    void findByOwner_whenSeekingAfterId_thenItemsOrderedById() {
+        this.entityManager.persist(user);
+        foundItem.setOwner(user.getId());
+        incorrectItem.setOwner(user.getId());
+        this.entityManager.persist(foundItem);
+        this.entityManager.persist(incorrectItem);
+
+        assertEquals(List.of(foundItem, incorrectItem), itemRepository.findByOwner(user.getId(), 0L, PageRequest.of(0, 10)));
+        assertEquals(List.of(incorrectItem), itemRepository.findByOwner(user.getId(), foundItem.getId(), PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void search_whenNameAndDescriptionMatch_thenAvailableItemsRankedByName() {
+        this.entityManager.persist(user);
+        Item described = Item.builder().name("egg").description("tool for eggs").available(true)
+            .owner(user.getId()).build();
+        Item unavailable = Item.builder().name("old tool").description("broken").available(false)
+            .owner(user.getId()).build();
+        Item contains = Item.builder().name("power tool").description("loud").available(true)
+            .owner(user.getId()).build();
+        foundItem.setOwner(user.getId());
+        this.entityManager.persist(described);
+        this.entityManager.persist(unavailable);
+        this.entityManager.persist(contains);
+        this.entityManager.persist(foundItem);
+
+        List<Item> actual = itemRepository.search("TOOL", PageRequest.of(0, 10));
+        List<Item> afterFirst = itemRepository.searchAfter("TOOL", SearchRank.NAME_PREFIX, foundItem.getId(),
+            PageRequest.of(0, 10));
+
+        assertEquals(List.of(foundItem, contains, described), actual);
+        assertEquals(List.of(contains, described), afterFirst);
+    }
+
+    @Test
+    void search_whenTextHasLikeWildcards_thenMatchedLiterallyAndRankedAsInJava() {
+        this.entityManager.persist(user);
+        Item percent = Item.builder().name("50% off drill").description("sale").available(true)
+            .owner(user.getId()).build();
+        Item plain = Item.builder().name("500 watt drill").description("50%_ off").available(true)
+            .owner(user.getId()).build();
+        this.entityManager.persist(percent);
+        this.entityManager.persist(plain);
+
+        List<Item> actual = itemRepository.search("50%", PageRequest.of(0, 10));
+        List<Item> afterFirst = itemRepository.searchAfter("50%", SearchRank.of(percent, "50%"), percent.getId(),
+            PageRequest.of(0, 10));
+
+        assertEquals(List.of(percent, plain), actual);
+        assertEquals(SearchRank.NAME_PREFIX, SearchRank.of(percent, "50%"));
+        assertEquals(SearchRank.DESCRIPTION, SearchRank.of(plain, "50%"));
+        assertEquals(List.of(plain), afterFirst);
+        assertEquals(List.of(plain), itemRepository.search("%_", PageRequest.of(0, 10)));
+        assertEquals(List.of(), itemRepository.search("!", PageRequest.of(0, 10)));
+    }
+}
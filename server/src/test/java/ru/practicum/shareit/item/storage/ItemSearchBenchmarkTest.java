@@ -0,0 +1,124 @@
+package ru.practicum.shareit.item.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemTrigramIndex;
+import ru.practicum.shareit.item.search.SearchPosition;
+import ru.practicum.shareit.item.search.SearchRank;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest
+public class ItemSearchBenchmarkTest {
+    private static final int ITEMS = 1_000_000;
+    private static final int BATCH = 10_000;
+    private static final int RARE_EVERY = 10_000;
+    private static final int DEEP_OFFSET = 50_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int ITERATIONS = 5;
+    private final ItemRepository itemRepository;
+    private final TestEntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ItemSearchBenchmarkTest(ItemRepository itemRepository, TestEntityManager entityManager,
+                                   JdbcTemplate jdbcTemplate) {
+        this.itemRepository = itemRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        User owner = entityManager.persist(User.builder().name("owner").email("owner@mail.ru").build());
+        entityManager.flush();
+
+        for (int start = 0; start < ITEMS; start += BATCH) {
+            List<Object[]> rows = new ArrayList<>(BATCH);
+            for (int i = start; i < start + BATCH; i++) {
+                String name = i % RARE_EVERY == 0 ? "anvil " + i : "item " + i;
+                String description = i % 2 == 0 ? "garden tool " + i : "kitchen thing " + i;
+                rows.add(new Object[]{name, description, owner.getId()});
+            }
+            jdbcTemplate.batchUpdate("insert into items (name, description, is_available, owner_id) " +
+                "values (?, ?, true, ?)", rows);
+        }
+    }
+
+    @Test
+    void search_whenMillionItems_thenLatencyReported() {
+        List<Item> rare = measure("rare term, first page",
+            () -> itemRepository.search("anvil", PageRequest.of(0, PAGE_SIZE)));
+        measure("common term, first page",
+            () -> itemRepository.search("tool", PageRequest.of(0, PAGE_SIZE)));
+        List<Item> offsetPage = measure("common term, offset " + DEEP_OFFSET,
+            () -> itemRepository.search("tool", PageRequest.of(DEEP_OFFSET / PAGE_SIZE, PAGE_SIZE)));
+
+        Item previous = itemRepository.search("tool", PageRequest.of(DEEP_OFFSET - 1, 1)).get(0);
+        List<Item> keysetPage = measure("common term, keyset at " + DEEP_OFFSET,
+            () -> itemRepository.searchAfter("tool", SearchRank.of(previous, "tool"), previous.getId(),
+                PageRequest.of(0, PAGE_SIZE)));
+
+        assertEquals(PAGE_SIZE, rare.size());
+        assertEquals(offsetPage, keysetPage);
+    }
+
+    @Test
+    void search_whenMillionItemsIndexed_thenLatencyComparedWithDatabase() {
+        ItemTrigramIndex index = new ItemTrigramIndex(itemRepository, true);
+        long started = System.nanoTime();
+        index.rebuild();
+        log.info("Item search over {} items: index rebuilt in {} ms", ITEMS, (System.nanoTime() - started) / 1_000_000);
+
+        List<Item> rareFromDatabase = measure("database, rare term",
+            () -> itemRepository.search("anvil", PageRequest.of(0, PAGE_SIZE)));
+        List<Long> rareFromIndex = measure("index, rare term",
+            () -> index.search("anvil", 0, null, PAGE_SIZE).getContent());
+        measure("database, common term",
+            () -> itemRepository.search("kitchen", PageRequest.of(0, PAGE_SIZE)));
+        measure("index, common term",
+            () -> index.search("kitchen", 0, null, PAGE_SIZE).getContent());
+
+        Item previous = itemRepository.search("tool", PageRequest.of(DEEP_OFFSET - 1, 1)).get(0);
+        List<Item> keysetFromDatabase = measure("database, keyset at " + DEEP_OFFSET,
+            () -> itemRepository.searchAfter("tool", SearchRank.of(previous, "tool"), previous.getId(),
+                PageRequest.of(0, PAGE_SIZE)));
+        List<Long> keysetFromIndex = measure("index, keyset at " + DEEP_OFFSET,
+            () -> index.search("tool", 0, SearchPosition.of(previous, "tool"), PAGE_SIZE).getContent());
+
+        assertEquals(ids(rareFromDatabase), rareFromIndex);
+        assertEquals(ids(keysetFromDatabase), keysetFromIndex);
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    private <T> List<T> measure(String name, Supplier<List<T>> query) {
+        List<T> result = query.get();
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            result = query.get();
+            entityManager.clear();
+        }
+        log.info("Item search over {} items: {} - average latency {} ms", ITEMS, name,
+            (System.nanoTime() - started) / ITERATIONS / 1_000_000);
+        return result;
+    }
+}
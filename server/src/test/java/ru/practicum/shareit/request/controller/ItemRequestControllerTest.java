@@ -7,9 +7,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.core.caching.ResourceVersions;
 import ru.practicum.shareit.core.exception.exceptions.RequestNotFoundException;
+import ru.practicum.shareit.core.pagination.Cursor;
+import ru.practicum.shareit.core.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
 
@@ -21,9 +25,11 @@ import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemRequestController.class)
+@Import(ResourceVersions.class)
 @AutoConfigureMockMvc
 public class ItemRequestControllerTest {
     private ObjectMapper objectMapper;
@@ -128,7 +134,8 @@ public class ItemRequestControllerTest {
     @Test
     void findAllFromOtherUsers_whenInvoked_thenStatus200andReturnedRequestList() throws Exception {
         List<ItemRequestDto> expectedRequests = List.of(requestDto);
-        when(requestService.findAllFromOtherUsers(anyLong(), anyInt(), anyInt())).thenReturn(expectedRequests);
+        when(requestService.findAllFromOtherUsers(anyLong(), anyInt(), isNull(), anyInt()))
+            .thenReturn(new CursorPage<>(expectedRequests, null));
 
         mockMvc.perform(
                 get("/requests/all")
@@ -136,6 +143,20 @@ public class ItemRequestControllerTest {
             .andExpect(status().isOk())
             .andExpect(content().json(objectMapper.writeValueAsString(List.of(requestDto))));
 
-        verify(requestService, times(1)).findAllFromOtherUsers(anyLong(), anyInt(), anyInt());
+        verify(requestService, times(1)).findAllFromOtherUsers(anyLong(), anyInt(), isNull(), anyInt());
+    }
+
+    @Test
+    void findAllFromOtherUsers_whenCursorGiven_thenNextCursorHeaderReturned() throws Exception {
+        when(requestService.findAllFromOtherUsers(anyLong(), anyInt(), eq("abc"), anyInt()))
+            .thenReturn(new CursorPage<>(List.of(requestDto), "def"));
+
+        mockMvc.perform(
+                get("/requests/all")
+                    .header("X-Sharer-User-Id", 1L)
+                    .param("cursor", "abc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(Cursor.NEXT_CURSOR_HEADER, "def"))
+            .andExpect(content().json(objectMapper.writeValueAsString(List.of(requestDto))));
     }
 }
\ No newline at end of file
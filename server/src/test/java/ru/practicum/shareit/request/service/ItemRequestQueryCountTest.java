@@ -0,0 +1,84 @@
+package ru.practicum.shareit.request.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.core.StatementRecorder;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Transactional
+@SpringBootTest(properties = StatementRecorder.PROPERTY)
+public class ItemRequestQueryCountTest {
+    private static final int REQUESTS = 50;
+    private final ItemRequestService requestService;
+    private final EntityManager entityManager;
+    private User reader;
+
+    @Autowired
+    public ItemRequestQueryCountTest(ItemRequestService requestService, EntityManager entityManager) {
+        this.requestService = requestService;
+        this.entityManager = entityManager;
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        reader = persistUser("reader");
+        LocalDateTime created = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+        for (int i = 0; i < REQUESTS; i++) {
+            User requester = persistUser("requester" + i);
+            ItemRequest request = new ItemRequest(null, "request " + i, requester, created.plusMinutes(i));
+            entityManager.persist(request);
+            entityManager.persist(Item.builder()
+                .name("item " + i)
+                .description("item " + i)
+                .available(true)
+                .owner(reader.getId())
+                .request(request)
+                .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        requestService.findAll(reader.getId());
+    }
+
+    @Test
+    void findAllFromOtherUsers_whenPageOfFiftyRequests_thenQueryCountConstant() {
+        int smallPage = countStatements(() -> requestService.findAllFromOtherUsers(reader.getId(), 0, null, 5)
+            .getContent());
+        int fullPage = countStatements(() -> requestService.findAllFromOtherUsers(reader.getId(), 0, null, REQUESTS)
+            .getContent());
+
+        assertEquals(2, fullPage);
+        assertEquals(smallPage, fullPage);
+    }
+
+    private int countStatements(Supplier<List<ItemRequestDto>> query) {
+        entityManager.clear();
+        StatementRecorder.clear();
+        List<ItemRequestDto> requests = query.get();
+        int count = StatementRecorder.statements().size();
+
+        requests.forEach(request -> assertEquals(1, request.getItems().size()));
+        return count;
+    }
+
+    private User persistUser(String name) {
+        User user = User.builder().name(name).email(name + "@mail.ru").build();
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -13,8 +13,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.core.exception.exceptions.RequestNotFoundException;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.core.pagination.CursorPage;
+import ru.practicum.shareit.core.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestMapper;
+import ru.practicum.shareit.request.dto.RequestPosition;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -125,17 +128,35 @@ public class ItemRequestServiceTest {
     void findRequestsFromOtherUsers_whenRequestsFound_thenRequestListReturned() {
         expectedRequest.setRequester(null);
         List<ItemRequest> requests = List.of(expectedRequest);
-        Pageable pageable = PageRequest.of(0, 10, Sort.by("created").descending());
-        when(requestRepository.findByRequesterIdIsNot(1L, pageable)).thenReturn(requests);
+        Pageable pageable = new OffsetPageRequest(7, 10);
+        when(requestRepository.findByRequesterIdIsNot(1L, RequestPosition.NEWEST.getCreated(),
+                RequestPosition.NEWEST.getRequestId(), pageable)).thenReturn(requests);
 
-        List<ItemRequest> actualRequests = requestService.findAllFromOtherUsers(userId, 0, 10)
+        List<ItemRequest> actualRequests = requestService.findAllFromOtherUsers(userId, 7, null, 10)
+                .getContent()
                 .stream()
                 .map(RequestMapper::toRequest)
                 .collect(Collectors.toList());
 
         assertEquals(requests, actualRequests);
         assertEquals(1, actualRequests.size());
-        verify(requestRepository, times(1)).findByRequesterIdIsNot(userId, pageable);
+        verify(requestRepository, times(1)).findByRequesterIdIsNot(userId, RequestPosition.NEWEST.getCreated(),
+                RequestPosition.NEWEST.getRequestId(), pageable);
+    }
+
+    @Test
+    void findRequestsFromOtherUsers_whenPageIsFull_thenCursorSeeksAfterLastRequest() {
+        when(requestRepository.findByRequesterIdIsNot(userId, RequestPosition.NEWEST.getCreated(),
+                RequestPosition.NEWEST.getRequestId(), new OffsetPageRequest(0, 1))).thenReturn(List.of(expectedRequest));
+        when(requestRepository.findByRequesterIdIsNot(userId, expectedRequest.getCreated(), expectedRequest.getId(),
+                PageRequest.of(0, 1))).thenReturn(List.of());
+
+        CursorPage<ItemRequestDto> first = requestService.findAllFromOtherUsers(userId, 0, null, 1);
+        CursorPage<ItemRequestDto> second = requestService.findAllFromOtherUsers(userId, 0, first.getNextCursor(), 1);
+
+        assertEquals(1, first.getContent().size());
+        assertTrue(second.getContent().isEmpty());
+        assertNull(second.getNextCursor());
     }
 
 }
\ No newline at end of file
@@ -8,8 +8,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.core.caching.ResourceVersions;
 import ru.practicum.shareit.core.exception.exceptions.UserNotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
@@ -23,6 +26,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(controllers = UserController.class)
+@Import(ResourceVersions.class)
 @AutoConfigureMockMvc
 public class UserControllerTest {
     private ObjectMapper objectMapper;
@@ -84,12 +88,30 @@ public class UserControllerTest {
         verify(userService, times(1)).findById(anyLong());
     }
 
+    @Test
+    public void findUser_whenNotModified_thenStatus304AndServiceNotCalled() throws Exception {
+        when(userService.findById(anyLong())).thenReturn(userDto);
+
+        String etag = mockMvc.perform(get("/users/{userId}", 1))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/users/{userId}", 1).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().string(""));
+
+        verify(userService, times(1)).findById(anyLong());
+    }
+
     @Test
     public void findUser_whenNotExist_thenThrowNotFound() throws Exception {
         when(userService.findById(anyLong())).thenThrow(UserNotFoundException.class);
 
         mockMvc.perform(get("/users/{userId}", 1L))
-            .andExpect(status().isNotFound());
+            .andExpect(status().isNotFound())
+            .andExpect(header().doesNotExist(HttpHeaders.ETAG));
     }
 
     @Test
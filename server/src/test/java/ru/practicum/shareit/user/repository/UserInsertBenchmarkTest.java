@@ -0,0 +1,74 @@
+package ru.practicum.shareit.user.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.core.StatementRecorder;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Slf4j
+@Tag("benchmark")
+@DataJpaTest(properties = StatementRecorder.PROPERTY)
+public class UserInsertBenchmarkTest {
+    private static final int[] ROWS = {1_000, 1_000, 10_000, 50_000};
+    private static final int ALLOCATION_SIZE = 50;
+    private final TestEntityManager entityManager;
+
+    @Autowired
+    public UserInsertBenchmarkTest(TestEntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Test
+    void persist_whenIdsPooled_thenInsertsBatched() {
+        for (int size : ROWS) {
+            StatementRecorder.clear();
+            long rowByRowMicros = persistUsers("row", size, 1);
+            long rowByRowInserts = count(StatementRecorder.statements(), "insert into users");
+
+            StatementRecorder.clear();
+            long pooledMicros = persistUsers("pooled", size, ALLOCATION_SIZE);
+            List<String> statements = StatementRecorder.statements();
+
+            assertEquals(size, rowByRowInserts);
+            assertEquals((size + ALLOCATION_SIZE - 1) / ALLOCATION_SIZE, count(statements, "insert into users"));
+            log.info("User inserts: rows - {}, flush per row as with identity - {} rows/s, " +
+                    "pooled sequence with batching - {} rows/s, sequence calls - {}",
+                size, rowsPerSecond(size, rowByRowMicros), rowsPerSecond(size, pooledMicros),
+                count(statements, "users_seq"));
+        }
+    }
+
+    private long persistUsers(String prefix, int size, int flushEvery) {
+        long started = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            entityManager.persist(User.builder()
+                .name("user")
+                .email(prefix + "-" + started + "-" + i + "@mail.ru")
+                .build());
+            if ((i + 1) % flushEvery == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        return (System.nanoTime() - started) / 1_000;
+    }
+
+    private long rowsPerSecond(int rows, long micros) {
+        return rows * 1_000_000L / Math.max(micros, 1);
+    }
+
+    private long count(List<String> statements, String fragment) {
+        return statements.stream().filter(sql -> sql.contains(fragment)).count();
+    }
+}
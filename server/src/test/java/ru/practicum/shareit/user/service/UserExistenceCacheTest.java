@@ -0,0 +1,55 @@
+package ru.practicum.shareit.user.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UserExistenceCacheTest {
+    private final UserExistenceCache cache = new UserExistenceCache(100, Duration.ofMinutes(10));
+
+    @AfterEach
+    public void clear() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void add_whenNoInvalidation_thenCached() {
+        cache.add(1L, cache.generation());
+
+        assertTrue(cache.contains(1L));
+    }
+
+    @Test
+    void add_whenLookupStartedBeforeDeleteCompleted_thenNotCached() {
+        cache.add(1L, cache.generation());
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidate(1L);
+        long readerGeneration = cache.generation();
+
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        cache.add(1L, readerGeneration);
+
+        assertFalse(cache.contains(1L));
+    }
+
+    @Test
+    void invalidate_whenStaleEntryAddedInsideTransaction_thenEvictedAfterCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidate(1L);
+        cache.add(1L, cache.generation());
+
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertFalse(cache.contains(1L));
+    }
+}
@@ -7,19 +7,26 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.core.caching.ResourceVersions;
 import ru.practicum.shareit.core.exception.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.service.ItemOwnerCache;
+import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +35,18 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private UserExistenceCache existenceCache = new UserExistenceCache(100, Duration.ofMinutes(10));
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Spy
+    private ItemOwnerCache ownerCache = new ItemOwnerCache(100);
+
+    @Spy
+    private ResourceVersions versions = new ResourceVersions(100);
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -87,6 +106,32 @@ public class UserServiceTest {
 
         assertEquals("Upd", savedUser.getName());
         assertEquals("upd@mail.ru", savedUser.getEmail());
+        verify(existenceCache).invalidate(userId);
+    }
+
+    @Test
+    void updateUser_whenNameChanged_thenUserAndCommentedItemsVersionsChanged() {
+        User updatedUser = new User();
+        updatedUser.setName("Upd");
+        when(userRepository.findById(userId)).thenReturn(Optional.of(expectedUser));
+        when(commentRepository.findItemIdsByAuthorId(userId)).thenReturn(List.of(5L));
+
+        userService.update(UserMapper.toUserDto(updatedUser), userId);
+
+        verify(versions).changed(ResourceVersions.USERS, userId);
+        verify(versions).changed(ResourceVersions.ITEMS, 5L);
+    }
+
+    @Test
+    void updateUser_whenOnlyEmailChanged_thenCommentedItemsNotLookedUp() {
+        User updatedUser = new User();
+        updatedUser.setEmail("upd@mail.ru");
+        when(userRepository.findById(userId)).thenReturn(Optional.of(expectedUser));
+
+        userService.update(UserMapper.toUserDto(updatedUser), userId);
+
+        verify(versions).changed(ResourceVersions.USERS, userId);
+        verifyNoInteractions(commentRepository);
     }
 
     @Test
@@ -155,6 +200,8 @@ public class UserServiceTest {
         userService.delete(userId);
 
         verify(userRepository).deleteById(userId);
+        verify(ownerCache).invalidate(userId);
+        verify(versions).changedAll();
     }
 
     @Test
@@ -163,6 +210,34 @@ public class UserServiceTest {
 
         assertThrows(UserNotFoundException.class, () -> userService.delete(userId));
     }
-}
 
+    @Test
+    void checkUserExists_whenCalledRepeatedly_thenRepositoryQueriedOnce() {
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        userService.checkUserExists(userId);
+        userService.checkUserExists(userId);
+
+        verify(userRepository, times(1)).existsById(userId);
+    }
+
+    @Test
+    void checkUserExists_whenUserNotFound_thenExceptionReturnedAndNotCached() {
+        when(userRepository.existsById(userId)).thenReturn(false);
 
+        assertThrows(UserNotFoundException.class, () -> userService.checkUserExists(userId));
+        assertThrows(UserNotFoundException.class, () -> userService.checkUserExists(userId));
+        verify(userRepository, times(2)).existsById(userId);
+    }
+
+    @Test
+    void checkUserExists_whenUserDeleted_thenExceptionReturned() {
+        when(userRepository.findById(userId)).thenReturn(Optional.of(expectedUser));
+        when(userRepository.existsById(userId)).thenReturn(false);
+        userService.findById(userId);
+
+        userService.delete(userId);
+
+        assertThrows(UserNotFoundException.class, () -> userService.checkUserExists(userId));
+    }
+}